@@ -2,16 +2,27 @@ package com.hireme.internship;
 
 import com.hireme.internship.model.User;
 import com.hireme.internship.service.ReminderService;
+import com.hireme.internship.service.ReminderWorker;
 import com.hireme.internship.ui.LoginUI;
 import com.hireme.internship.ui.MainFrame;
 import com.hireme.internship.utils.DatabaseUtils;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 public class InternshipReminderApp {
+  private static final Logger LOGGER = Logger.getLogger(InternshipReminderApp.class.getName());
 
   public static void main(String[] args) {
+    if (Arrays.asList(args).contains("--worker")) {
+      runWorker();
+      return;
+    }
+
     // Enable native look and feel
     try {
       UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
@@ -43,4 +54,29 @@ public class InternshipReminderApp {
       DatabaseUtils.closeConnection();
     }));
   }
+
+  /**
+   * Run headless, sending the reminders of the shards this node leases until
+   * the process is stopped
+   */
+  private static void runWorker() {
+    try {
+      DatabaseUtils.initializeDatabase();
+      ReminderWorker worker = new ReminderWorker();
+      // start() logs the worker id
+      worker.start();
+
+      CountDownLatch stopped = new CountDownLatch(1);
+      Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+        worker.stop();
+        DatabaseUtils.closeConnection();
+        stopped.countDown();
+      }));
+      stopped.await();
+    } catch (Exception e) {
+      LOGGER.log(Level.SEVERE, "Could not start the reminder worker", e);
+      DatabaseUtils.closeConnection();
+      System.exit(1);
+    }
+  }
 }
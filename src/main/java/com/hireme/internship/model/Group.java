@@ -1,17 +1,29 @@
 package com.hireme.internship.model;
 
+import java.time.LocalDate;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class Group {
   private String id;
   private String name;
   private Set<User> members;
   private Set<Internship> sharedInternships;
+  private final InternshipsByDeadline sharedByDeadline = new InternshipsByDeadline();
+  private final List<InternshipListener> listeners = new CopyOnWriteArrayList<>();
+  // Member count according to the database; members are not all loaded
+  private int storedMemberCount;
 
   public Group(String name) {
-    this.id = UUID.randomUUID().toString();
+    this(UUID.randomUUID().toString(), name);
+  }
+
+  public Group(String id, String name) {
+    this.id = id;
     this.name = name;
     this.members = new HashSet<>();
     this.sharedInternships = new HashSet<>();
@@ -33,6 +45,22 @@ public class Group {
     return members;
   }
 
+  /**
+   * Total number of members, including those that are only known from the
+   * database
+   */
+  public int getMemberCount() {
+    return Math.max(members.size(), storedMemberCount);
+  }
+
+  /**
+   * Set the member count recorded in the database, which may include users
+   * that are not loaded into {@link #getMembers()}
+   */
+  public void setStoredMemberCount(int storedMemberCount) {
+    this.storedMemberCount = storedMemberCount;
+  }
+
   public void addMember(User user) {
     this.members.add(user);
     user.addGroup(this);
@@ -46,16 +74,73 @@ public class Group {
     return removed;
   }
 
+  /**
+   * @return Read-only view of the shared internships; use
+   *         {@link #shareInternship} and {@link #removeInternship} to change
+   *         them
+   */
   public Set<Internship> getSharedInternships() {
-    return sharedInternships;
+    return Collections.unmodifiableSet(sharedInternships);
+  }
+
+  /**
+   * @return Shared internships due from {@code from} to {@code to}, both
+   *         inclusive, earliest deadline first
+   */
+  public List<Internship> getSharedDueBetween(LocalDate from, LocalDate to) {
+    return sharedByDeadline.dueBetween(from, to);
+  }
+
+  /**
+   * @return The next {@code limit} shared internships due today or later,
+   *         earliest deadline first
+   */
+  public List<Internship> getUpcomingShared(int limit) {
+    return sharedByDeadline.upcoming(LocalDate.now(), limit);
   }
 
   public void shareInternship(Internship internship) {
-    this.sharedInternships.add(internship);
+    if (this.sharedInternships.add(internship)) {
+      sharedByDeadline.add(internship);
+      for (InternshipListener listener : listeners) {
+        listener.internshipAdded(internship);
+      }
+    }
   }
 
   public boolean removeInternship(Internship internship) {
-    return this.sharedInternships.remove(internship);
+    boolean removed = this.sharedInternships.remove(internship);
+    if (removed) {
+      sharedByDeadline.remove(internship);
+      for (InternshipListener listener : listeners) {
+        listener.internshipRemoved(internship);
+      }
+    }
+    return removed;
+  }
+
+  /**
+   * Notify listeners that a shared internship's details have been edited
+   *
+   * @return Whether the internship is shared in this group
+   */
+  public boolean updateInternship(Internship internship) {
+    if (!this.sharedInternships.contains(internship)) {
+      return false;
+    }
+    sharedByDeadline.update(internship);
+    for (InternshipListener listener : listeners) {
+      listener.internshipUpdated(internship);
+    }
+    return true;
+  }
+
+  public void addListener(InternshipListener listener) {
+    listeners.add(listener);
+  }
+
+  public void removeListener(InternshipListener listener) {
+    listeners.remove(listener);
   }
 
   @Override
@@ -75,6 +160,6 @@ public class Group {
 
   @Override
   public String toString() {
-    return name + " (" + members.size() + " members)";
+    return name + " (" + getMemberCount() + " members)";
   }
 }
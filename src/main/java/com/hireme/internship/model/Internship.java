@@ -1,10 +1,13 @@
 package com.hireme.internship.model;
 
+import com.hireme.internship.utils.IdGenerator;
+
 import java.util.Date;
-import java.util.Objects;
 
 public class Internship {
-  private String id;
+  // Immutable surrogate key; equality and hashing depend only on it, so
+  // editing other fields never disturbs hash-based collections
+  private final long id;
   private String company;
   private String position;
   private String description;
@@ -13,7 +16,15 @@ public class Internship {
   private String metadata;
 
   public Internship(String company, String position, String description, Date deadline, String url) {
-    this.id = company + "-" + position;
+    this(IdGenerator.nextId(), company, position, description, deadline, url);
+  }
+
+  /**
+   * Create an internship with an existing id, e.g. one loaded from the
+   * database
+   */
+  public Internship(long id, String company, String position, String description, Date deadline, String url) {
+    this.id = id;
     this.company = company;
     this.position = position;
     this.description = description;
@@ -22,7 +33,7 @@ public class Internship {
   }
 
   // Getters and setters
-  public String getId() {
+  public long getId() {
     return id;
   }
 
@@ -32,7 +43,6 @@ public class Internship {
 
   public void setCompany(String company) {
     this.company = company;
-    updateId();
   }
 
   public String getPosition() {
@@ -41,7 +51,6 @@ public class Internship {
 
   public void setPosition(String position) {
     this.position = position;
-    updateId();
   }
 
   public String getDescription() {
@@ -76,10 +85,6 @@ public class Internship {
     this.metadata = metadata;
   }
 
-  private void updateId() {
-    this.id = company + "-" + position;
-  }
-
   @Override
   public boolean equals(Object o) {
     if (this == o)
@@ -87,12 +92,12 @@ public class Internship {
     if (o == null || getClass() != o.getClass())
       return false;
     Internship that = (Internship) o;
-    return Objects.equals(id, that.id);
+    return id == that.id;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(id);
+    return Long.hashCode(id);
   }
 
   @Override
@@ -0,0 +1,20 @@
+package com.hireme.internship.model;
+
+/**
+ * Receives notifications when internships are added to, removed from or
+ * changed in a {@link User}'s saved list or a {@link Group}'s shared list
+ */
+public interface InternshipListener {
+
+  default void internshipAdded(Internship internship) {
+  }
+
+  default void internshipRemoved(Internship internship) {
+  }
+
+  /**
+   * An internship that is already in the list has had its details changed
+   */
+  default void internshipUpdated(Internship internship) {
+  }
+}
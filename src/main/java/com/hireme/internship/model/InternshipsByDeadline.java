@@ -0,0 +1,99 @@
+package com.hireme.internship.model;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Secondary index of a set of internships ordered by deadline, keyed by the
+ * deadline's epoch day in the system time zone. Range and top-N queries
+ * cost O(log n + k) instead of a scan and sort of the whole set.
+ *
+ * Internships without a deadline are not indexed. The owner must call
+ * {@link #update(Internship)} after changing an indexed internship's
+ * deadline. Not thread-safe, like the sets it indexes.
+ */
+final class InternshipsByDeadline {
+  private final NavigableMap<Long, Set<Internship>> byDay = new TreeMap<>();
+  // Day each internship is filed under, so it can be found after its
+  // deadline changed
+  private final Map<Internship, Long> dayOf = new HashMap<>();
+
+  void add(Internship internship) {
+    Date deadline = internship.getDeadline();
+    if (deadline == null || dayOf.containsKey(internship)) {
+      return;
+    }
+    long day = epochDay(deadline);
+    dayOf.put(internship, day);
+    byDay.computeIfAbsent(day, d -> new LinkedHashSet<>()).add(internship);
+  }
+
+  void remove(Internship internship) {
+    Long day = dayOf.remove(internship);
+    if (day == null) {
+      return;
+    }
+    Set<Internship> onDay = byDay.get(day);
+    onDay.remove(internship);
+    if (onDay.isEmpty()) {
+      byDay.remove(day);
+    }
+  }
+
+  /**
+   * Re-file an internship whose deadline may have changed
+   */
+  void update(Internship internship) {
+    remove(internship);
+    add(internship);
+  }
+
+  /**
+   * @return Internships due on any day from {@code from} to {@code to},
+   *         both inclusive, earliest first
+   */
+  List<Internship> dueBetween(LocalDate from, LocalDate to) {
+    List<Internship> due = new ArrayList<>();
+    if (from.isAfter(to)) {
+      return due;
+    }
+    for (Collection<Internship> onDay : byDay.subMap(from.toEpochDay(), true, to.toEpochDay(), true).values()) {
+      due.addAll(onDay);
+    }
+    return due;
+  }
+
+  /**
+   * @return Up to {@code limit} internships due on or after {@code from},
+   *         earliest first
+   */
+  List<Internship> upcoming(LocalDate from, int limit) {
+    List<Internship> upcoming = new ArrayList<>(Math.min(limit, dayOf.size()));
+    for (Collection<Internship> onDay : byDay.tailMap(from.toEpochDay(), true).values()) {
+      for (Internship internship : onDay) {
+        if (upcoming.size() == limit) {
+          return upcoming;
+        }
+        upcoming.add(internship);
+      }
+    }
+    return upcoming;
+  }
+
+  private static long epochDay(Date deadline) {
+    // Date.toInstant() is unsupported on java.sql.Date, which is what the
+    // database hands back
+    return Instant.ofEpochMilli(deadline.getTime()).atZone(ZoneId.systemDefault()).toLocalDate().toEpochDay();
+  }
+}
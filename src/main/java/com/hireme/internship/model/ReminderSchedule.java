@@ -0,0 +1,143 @@
+package com.hireme.internship.model;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * When reminders are sent for a deadline, as offsets before it, e.g.
+ * {@code 7d,3d,1d,2h}. Offsets are kept in descending order, so they fire in
+ * index order. Immutable.
+ */
+public final class ReminderSchedule {
+  /**
+   * Schedule used by users who have not chosen their own, read from
+   * {@code hireme.reminders.offsets}
+   */
+  public static final ReminderSchedule DEFAULT = parse(System.getProperty("hireme.reminders.offsets", "7d,3d,1d,2h"));
+
+  // Descending offsets in milliseconds
+  private final long[] offsets;
+
+  private ReminderSchedule(long[] offsets) {
+    this.offsets = offsets;
+  }
+
+  /**
+   * Parse a comma-separated list of offsets, each a number followed by
+   * {@code d} (days), {@code h} (hours) or {@code m} (minutes)
+   *
+   * @throws IllegalArgumentException if the list is empty or an offset is
+   *                                  malformed
+   */
+  public static ReminderSchedule parse(String spec) {
+    String[] parts = spec.trim().split("\\s*,\\s*");
+    long[] offsets = new long[parts.length];
+    for (int i = 0; i < parts.length; i++) {
+      offsets[i] = parseOffset(parts[i]);
+    }
+    Arrays.sort(offsets);
+    // Reverse into descending order and drop duplicates
+    int count = 0;
+    long[] descending = new long[offsets.length];
+    for (int i = offsets.length - 1; i >= 0; i--) {
+      if (count == 0 || descending[count - 1] != offsets[i]) {
+        descending[count++] = offsets[i];
+      }
+    }
+    return new ReminderSchedule(Arrays.copyOf(descending, count));
+  }
+
+  private static long parseOffset(String part) {
+    if (part.length() < 2) {
+      throw new IllegalArgumentException("Invalid reminder offset: '" + part + "'");
+    }
+    TimeUnit unit;
+    switch (Character.toLowerCase(part.charAt(part.length() - 1))) {
+      case 'd':
+        unit = TimeUnit.DAYS;
+        break;
+      case 'h':
+        unit = TimeUnit.HOURS;
+        break;
+      case 'm':
+        unit = TimeUnit.MINUTES;
+        break;
+      default:
+        throw new IllegalArgumentException("Invalid reminder offset unit in '" + part + "'; use d, h or m");
+    }
+    long amount;
+    try {
+      amount = Long.parseLong(part.substring(0, part.length() - 1));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid reminder offset: '" + part + "'", e);
+    }
+    if (amount <= 0) {
+      throw new IllegalArgumentException("Reminder offsets must be positive: '" + part + "'");
+    }
+    return unit.toMillis(amount);
+  }
+
+  /**
+   * Number of reminders per deadline
+   */
+  public int size() {
+    return offsets.length;
+  }
+
+  /**
+   * @return The offset before the deadline, in milliseconds; index 0 is the
+   *         earliest reminder
+   */
+  public long getOffset(int index) {
+    return offsets[index];
+  }
+
+  /**
+   * @param deadline Deadline in epoch milliseconds
+   * @param now      Current time in epoch milliseconds
+   * @return Index of the latest window whose reminder time has been reached,
+   *         or -1 if none has
+   */
+  public int latestWindow(long deadline, long now) {
+    int window = -1;
+    while (window + 1 < offsets.length && deadline - offsets[window + 1] <= now) {
+      window++;
+    }
+    return window;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o)
+      return true;
+    if (o == null || getClass() != o.getClass())
+      return false;
+    return Arrays.equals(offsets, ((ReminderSchedule) o).offsets);
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(offsets);
+  }
+
+  /**
+   * @return The schedule in the format accepted by {@link #parse(String)}
+   */
+  @Override
+  public String toString() {
+    StringBuilder spec = new StringBuilder();
+    for (long offset : offsets) {
+      if (spec.length() > 0) {
+        spec.append(',');
+      }
+      if (offset % TimeUnit.DAYS.toMillis(1) == 0) {
+        spec.append(TimeUnit.MILLISECONDS.toDays(offset)).append('d');
+      } else if (offset % TimeUnit.HOURS.toMillis(1) == 0) {
+        spec.append(TimeUnit.MILLISECONDS.toHours(offset)).append('h');
+      } else {
+        spec.append(TimeUnit.MILLISECONDS.toMinutes(offset)).append('m');
+      }
+    }
+    return spec.toString();
+  }
+}
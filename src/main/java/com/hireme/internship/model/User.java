@@ -1,13 +1,21 @@
 package com.hireme.internship.model;
 
+import java.time.LocalDate;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class User {
   private String name;
   private String email;
   private Set<Group> groups;
   private Set<Internship> savedInternships;
+  private final InternshipsByDeadline savedByDeadline = new InternshipsByDeadline();
+  // Null until the user picks their own schedule
+  private ReminderSchedule reminderSchedule;
+  private final List<UserListener> listeners = new CopyOnWriteArrayList<>();
 
   public User(String name, String email) {
     this.name = name;
@@ -37,23 +45,110 @@ public class User {
   }
 
   public void addGroup(Group group) {
-    this.groups.add(group);
+    if (this.groups.add(group)) {
+      for (UserListener listener : listeners) {
+        listener.groupJoined(group);
+      }
+    }
   }
 
   public boolean removeGroup(Group group) {
-    return this.groups.remove(group);
+    boolean removed = this.groups.remove(group);
+    if (removed) {
+      for (UserListener listener : listeners) {
+        listener.groupLeft(group);
+      }
+    }
+    return removed;
   }
 
+  /**
+   * @return Read-only view of the saved internships; use
+   *         {@link #addInternship} and {@link #removeInternship} to change
+   *         them
+   */
   public Set<Internship> getSavedInternships() {
-    return savedInternships;
+    return Collections.unmodifiableSet(savedInternships);
+  }
+
+  /**
+   * @return Saved internships due from {@code from} to {@code to}, both
+   *         inclusive, earliest deadline first
+   */
+  public List<Internship> getSavedDueBetween(LocalDate from, LocalDate to) {
+    return savedByDeadline.dueBetween(from, to);
+  }
+
+  /**
+   * @return The next {@code limit} saved internships due today or later,
+   *         earliest deadline first
+   */
+  public List<Internship> getUpcomingSaved(int limit) {
+    return savedByDeadline.upcoming(LocalDate.now(), limit);
   }
 
   public void addInternship(Internship internship) {
-    this.savedInternships.add(internship);
+    if (this.savedInternships.add(internship)) {
+      savedByDeadline.add(internship);
+      for (UserListener listener : listeners) {
+        listener.internshipAdded(internship);
+      }
+    }
   }
 
   public boolean removeInternship(Internship internship) {
-    return this.savedInternships.remove(internship);
+    boolean removed = this.savedInternships.remove(internship);
+    if (removed) {
+      savedByDeadline.remove(internship);
+      for (UserListener listener : listeners) {
+        listener.internshipRemoved(internship);
+      }
+    }
+    return removed;
+  }
+
+  /**
+   * Notify listeners that a saved internship's details have been edited
+   *
+   * @return Whether the internship is saved by this user
+   */
+  public boolean updateInternship(Internship internship) {
+    if (!this.savedInternships.contains(internship)) {
+      return false;
+    }
+    savedByDeadline.update(internship);
+    for (UserListener listener : listeners) {
+      listener.internshipUpdated(internship);
+    }
+    return true;
+  }
+
+  /**
+   * @return The user's reminder schedule, or {@link ReminderSchedule#DEFAULT}
+   */
+  public ReminderSchedule getReminderSchedule() {
+    return reminderSchedule != null ? reminderSchedule : ReminderSchedule.DEFAULT;
+  }
+
+  /**
+   * @param reminderSchedule New schedule, or null to use the default
+   */
+  public void setReminderSchedule(ReminderSchedule reminderSchedule) {
+    ReminderSchedule previous = getReminderSchedule();
+    this.reminderSchedule = reminderSchedule;
+    if (!previous.equals(getReminderSchedule())) {
+      for (UserListener listener : listeners) {
+        listener.reminderScheduleChanged(getReminderSchedule());
+      }
+    }
+  }
+
+  public void addListener(UserListener listener) {
+    listeners.add(listener);
+  }
+
+  public void removeListener(UserListener listener) {
+    listeners.remove(listener);
   }
 
   @Override
@@ -0,0 +1,17 @@
+package com.hireme.internship.model;
+
+/**
+ * Receives notifications about changes to a {@link User}'s saved internships,
+ * group memberships and reminder schedule
+ */
+public interface UserListener extends InternshipListener {
+
+  default void groupJoined(Group group) {
+  }
+
+  default void groupLeft(Group group) {
+  }
+
+  default void reminderScheduleChanged(ReminderSchedule schedule) {
+  }
+}
@@ -0,0 +1,145 @@
+package com.hireme.internship.service;
+
+import com.hireme.internship.model.Group;
+import com.hireme.internship.model.Internship;
+import com.hireme.internship.model.ReminderSchedule;
+import com.hireme.internship.model.User;
+import com.hireme.internship.utils.DatabaseUtils;
+import com.hireme.internship.utils.InternshipSearchPage;
+import com.hireme.internship.utils.InternshipShare;
+import com.hireme.internship.utils.SharedInternshipPage;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs database and user-management calls on a dedicated executor so the
+ * AWT event thread never blocks on a database round trip.
+ *
+ * Every operation returns a {@link CompletableFuture}. Cancelling the future
+ * interrupts the worker if the call has not finished yet, and its result is
+ * discarded.
+ */
+public class AsyncDataService {
+  private static final int THREADS = Integer.getInteger("hireme.db.asyncThreads", 4);
+
+  private static AsyncDataService instance;
+
+  private final ExecutorService executor;
+
+  private AsyncDataService() {
+    AtomicInteger counter = new AtomicInteger();
+    this.executor = Executors.newFixedThreadPool(THREADS, r -> {
+      Thread thread = new Thread(r, "hireme-db-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Get the singleton instance
+   */
+  public static synchronized AsyncDataService getInstance() {
+    if (instance == null) {
+      instance = new AsyncDataService();
+    }
+    return instance;
+  }
+
+  /**
+   * Create the user manager (tables, demo users, cache warm-up) in the
+   * background
+   */
+  public CompletableFuture<UserManager> initializeUserManager() {
+    return supply(UserManager::getInstance);
+  }
+
+  public CompletableFuture<User> authenticate(String email, String password) {
+    return supply(() -> UserManager.getInstance().authenticate(email, password));
+  }
+
+  public CompletableFuture<Boolean> registerUser(String name, String email, String password) {
+    return supply(() -> UserManager.getInstance().registerUser(name, email, password));
+  }
+
+  public CompletableFuture<List<Internship>> getSavedInternships(User user) {
+    return supply(() -> DatabaseUtils.getSavedInternships(user.getEmail()));
+  }
+
+  public CompletableFuture<SharedInternshipPage> getSharedInternshipsPage(User user,
+      SharedInternshipPage.Cursor after, int pageSize) {
+    return supply(() -> DatabaseUtils.getSharedInternshipsPage(user, after, pageSize));
+  }
+
+  public CompletableFuture<InternshipSearchPage> searchSharedInternships(User user, String query,
+      InternshipSearchPage.Cursor after, int pageSize) {
+    return supply(() -> DatabaseUtils.searchSharedInternships(user, query, after, pageSize));
+  }
+
+  public CompletableFuture<List<Group>> getGroupsForUser(User user) {
+    return supply(() -> DatabaseUtils.getGroupsForUser(user));
+  }
+
+  public CompletableFuture<Group> createGroup(String name, User creator) {
+    return supply(() -> DatabaseUtils.createGroup(name, creator));
+  }
+
+  public CompletableFuture<Group> joinGroup(String name, User user) {
+    return supply(() -> DatabaseUtils.joinGroup(name, user));
+  }
+
+  public CompletableFuture<Boolean> leaveGroup(String name, User user) {
+    return supply(() -> DatabaseUtils.leaveGroup(name, user));
+  }
+
+  public CompletableFuture<boolean[]> shareInternships(Collection<InternshipShare> shares) {
+    return supply(() -> DatabaseUtils.shareInternships(shares));
+  }
+
+  public CompletableFuture<Void> updateReminderSchedule(User user, ReminderSchedule schedule) {
+    return supply(() -> {
+      DatabaseUtils.updateReminderSchedule(user.getEmail(), schedule);
+      return null;
+    });
+  }
+
+  /**
+   * Stop the worker threads
+   */
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private <T> CompletableFuture<T> supply(DatabaseCall<T> call) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    Future<?> task = executor.submit(() -> {
+      if (result.isDone()) {
+        return;
+      }
+      try {
+        result.complete(call.call());
+      } catch (Exception e) {
+        result.completeExceptionally(e);
+      }
+    });
+    result.whenComplete((value, error) -> {
+      if (result.isCancelled()) {
+        task.cancel(true);
+      }
+    });
+    return result;
+  }
+
+  /**
+   * A blocking call that may throw a checked database exception
+   */
+  @FunctionalInterface
+  private interface DatabaseCall<T> {
+    T call() throws Exception;
+  }
+}
@@ -0,0 +1,14 @@
+package com.hireme.internship.service;
+
+/**
+ * Thrown when a login or registration is turned away because every password
+ * hashing thread is busy and the wait queue is full. The request was not
+ * checked; the caller may retry later.
+ */
+public class AuthBusyException extends RuntimeException {
+  private static final long serialVersionUID = 1L;
+
+  public AuthBusyException() {
+    super("Too many logins in progress");
+  }
+}
@@ -0,0 +1,365 @@
+package com.hireme.internship.service;
+
+import com.hireme.internship.model.Internship;
+import com.hireme.internship.model.ReminderSchedule;
+import com.hireme.internship.model.User;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.function.IntConsumer;
+
+/**
+ * Index of pending reminders. Each (user, internship) pair gets one reminder
+ * per offset in the user's {@link ReminderSchedule}, fired at the deadline
+ * minus that offset.
+ *
+ * Every pair has at most one entry. An internship that reaches the user
+ * through several paths (saved and shared in one or more groups) only bumps
+ * the entry's source count, so it is reminded once per window. The entry is
+ * armed for one window at a time in a {@link TimingWheel}; when it fires, the
+ * next window is armed.
+ *
+ * Entries are stored column-wise in primitive arrays indexed by slot, and an
+ * open-addressing table maps (user, internship id) to a slot. Deadlines are
+ * captured as epoch milliseconds when an entry is added, so polling for due
+ * reminders neither allocates nor touches {@link Date}. Not thread-safe;
+ * callers synchronize.
+ */
+class DeadlineIndex {
+  private static final int INITIAL_CAPACITY = 64;
+  private static final long NO_DEADLINE = Long.MIN_VALUE;
+
+  // Entry columns, indexed by slot
+  private User[] users;
+  private Internship[] internships;
+  private ReminderSchedule[] schedules;
+  private long[] internshipIds;
+  private long[] deadlines;
+  // Index into the schedule of the window that is armed (or fired last)
+  private int[] windows;
+  private int[] sources;
+  private int slotCount;
+  private int[] freeSlots;
+  private int freeCount;
+
+  // Open-addressing table of slot + 1 (0 marks an empty bucket)
+  private int[] table;
+  private int size;
+
+  private final TimingWheel wheel;
+  private final IntConsumer fireHandler = this::fire;
+  // Set for the duration of pollDue
+  private DueBatch pollBatch;
+  private long pollNow;
+
+  /**
+   * @param tickMillis Resolution of reminder times
+   * @param now        Current time in milliseconds
+   */
+  DeadlineIndex(long tickMillis, long now) {
+    this.users = new User[INITIAL_CAPACITY];
+    this.internships = new Internship[INITIAL_CAPACITY];
+    this.schedules = new ReminderSchedule[INITIAL_CAPACITY];
+    this.internshipIds = new long[INITIAL_CAPACITY];
+    this.deadlines = new long[INITIAL_CAPACITY];
+    this.windows = new int[INITIAL_CAPACITY];
+    this.sources = new int[INITIAL_CAPACITY];
+    this.freeSlots = new int[INITIAL_CAPACITY];
+    this.table = new int[INITIAL_CAPACITY * 2];
+    this.wheel = new TimingWheel(tickMillis, now, INITIAL_CAPACITY);
+  }
+
+  /**
+   * Add one source for the pair
+   *
+   * @return true if this armed a new reminder
+   */
+  boolean add(User user, Internship internship, long now) {
+    long id = internship.getId();
+    int slot = find(user, id);
+    if (slot >= 0) {
+      sources[slot]++;
+      return false;
+    }
+
+    slot = allocateSlot();
+    users[slot] = user;
+    internships[slot] = internship;
+    internshipIds[slot] = id;
+    schedules[slot] = user.getReminderSchedule();
+    sources[slot] = 1;
+    insert(slot);
+    return arm(slot, internship.getDeadline(), now);
+  }
+
+  /**
+   * Re-read the deadline of a pair whose internship has been edited and
+   * re-arm its reminder, keeping its sources. Windows that already fired
+   * may come due again; the reminder ledger keeps them from being resent.
+   */
+  void update(User user, Internship internship, long now) {
+    int slot = find(user, internship.getId());
+    if (slot < 0) {
+      return;
+    }
+    wheel.cancel(slot);
+    internships[slot] = internship;
+    arm(slot, internship.getDeadline(), now);
+  }
+
+  /**
+   * Capture the slot's deadline and schedule its first due window
+   *
+   * @return false if the deadline is missing or has passed
+   */
+  private boolean arm(int slot, Date deadline, long now) {
+    if (deadline == null || deadline.getTime() <= now) {
+      // Already past the deadline, nothing to remind about
+      deadlines[slot] = NO_DEADLINE;
+      return false;
+    }
+    deadlines[slot] = deadline.getTime();
+    // If windows have already passed (e.g. while the app was not running),
+    // arm only the latest of them so it fires right away
+    windows[slot] = latestPassedWindow(slot, 0, now);
+    wheel.schedule(slot, fireTime(slot));
+    return true;
+  }
+
+  /**
+   * Remove one source for the pair; the reminder is dropped with its last
+   * source
+   */
+  void remove(User user, Internship internship) {
+    int slot = find(user, internship.getId());
+    if (slot < 0 || --sources[slot] > 0) {
+      return;
+    }
+    delete(slot);
+    wheel.cancel(slot);
+    users[slot] = null;
+    internships[slot] = null;
+    schedules[slot] = null;
+    freeSlots[freeCount++] = slot;
+  }
+
+  /**
+   * Move all reminders whose fire time has been reached and whose deadline
+   * has not yet passed into {@code due}, arming each pair's next window
+   *
+   * @return Number of reminders added to {@code due}
+   */
+  int pollDue(long now, DueBatch due) {
+    int before = due.size();
+    pollBatch = due;
+    pollNow = now;
+    try {
+      wheel.advance(now, fireHandler);
+    } finally {
+      pollBatch = null;
+    }
+    return due.size() - before;
+  }
+
+  /**
+   * Number of armed reminders
+   */
+  int pendingCount() {
+    return wheel.size();
+  }
+
+  private void fire(int slot) {
+    long now = pollNow;
+    long deadline = deadlines[slot];
+    if (deadline <= now) {
+      return;
+    }
+    // Several windows may have passed since the entry was armed; only the
+    // latest one is sent
+    int window = latestPassedWindow(slot, windows[slot], now);
+    windows[slot] = window;
+    pollBatch.add(users[slot], internships[slot], deadline, schedules[slot].getOffset(window));
+
+    if (window + 1 < schedules[slot].size()) {
+      windows[slot] = window + 1;
+      wheel.schedule(slot, fireTime(slot));
+    }
+  }
+
+  private long fireTime(int slot) {
+    return deadlines[slot] - schedules[slot].getOffset(windows[slot]);
+  }
+
+  /**
+   * @return The last window at or after {@code from} whose fire time has
+   *         passed, or {@code from} if none has
+   */
+  private int latestPassedWindow(int slot, int from, long now) {
+    ReminderSchedule schedule = schedules[slot];
+    int window = from;
+    while (window + 1 < schedule.size() && deadlines[slot] - schedule.getOffset(window + 1) <= now) {
+      window++;
+    }
+    return window;
+  }
+
+  private int allocateSlot() {
+    if (freeCount > 0) {
+      return freeSlots[--freeCount];
+    }
+    if (slotCount == users.length) {
+      grow();
+    }
+    return slotCount++;
+  }
+
+  private void grow() {
+    int capacity = users.length * 2;
+    users = Arrays.copyOf(users, capacity);
+    internships = Arrays.copyOf(internships, capacity);
+    schedules = Arrays.copyOf(schedules, capacity);
+    internshipIds = Arrays.copyOf(internshipIds, capacity);
+    deadlines = Arrays.copyOf(deadlines, capacity);
+    windows = Arrays.copyOf(windows, capacity);
+    sources = Arrays.copyOf(sources, capacity);
+    freeSlots = Arrays.copyOf(freeSlots, capacity);
+    wheel.ensureCapacity(capacity);
+  }
+
+  // -- Hash table ----------------------------------------------------------
+
+  private static int hash(User user, long internshipId) {
+    long h = (internshipId ^ user.hashCode() * 0x9E3779B97F4A7C15L) * 0xBF58476D1CE4E5B9L;
+    return (int) (h ^ (h >>> 32));
+  }
+
+  private int find(User user, long internshipId) {
+    int mask = table.length - 1;
+    for (int i = hash(user, internshipId) & mask;; i = (i + 1) & mask) {
+      int entry = table[i];
+      if (entry == 0) {
+        return -1;
+      }
+      int slot = entry - 1;
+      if (internshipIds[slot] == internshipId && users[slot].equals(user)) {
+        return slot;
+      }
+    }
+  }
+
+  private void insert(int slot) {
+    if ((size + 1) * 2 > table.length) {
+      rehash(table.length * 2);
+    }
+    int mask = table.length - 1;
+    int i = hash(users[slot], internshipIds[slot]) & mask;
+    while (table[i] != 0) {
+      i = (i + 1) & mask;
+    }
+    table[i] = slot + 1;
+    size++;
+  }
+
+  /**
+   * Remove the slot's bucket, shifting later buckets of the probe run back
+   * so lookups never need tombstones
+   */
+  private void delete(int slot) {
+    int mask = table.length - 1;
+    int i = hash(users[slot], internshipIds[slot]) & mask;
+    while (table[i] != slot + 1) {
+      i = (i + 1) & mask;
+    }
+    table[i] = 0;
+    size--;
+
+    for (int j = (i + 1) & mask; table[j] != 0; j = (j + 1) & mask) {
+      int moved = table[j] - 1;
+      int home = hash(users[moved], internshipIds[moved]) & mask;
+      if (((j - home) & mask) >= ((j - i) & mask)) {
+        table[i] = table[j];
+        table[j] = 0;
+        i = j;
+      }
+    }
+  }
+
+  private void rehash(int capacity) {
+    int[] old = table;
+    table = new int[capacity];
+    int mask = capacity - 1;
+    for (int entry : old) {
+      if (entry != 0) {
+        int slot = entry - 1;
+        int i = hash(users[slot], internshipIds[slot]) & mask;
+        while (table[i] != 0) {
+          i = (i + 1) & mask;
+        }
+        table[i] = entry;
+      }
+    }
+  }
+
+  /**
+   * Reusable buffer of due reminders, filled by {@link #pollDue}. Grows as
+   * needed and keeps its arrays across passes, so steady-state polling does
+   * not allocate.
+   */
+  static final class DueBatch {
+    private User[] users = new User[16];
+    private Internship[] internships = new Internship[16];
+    private long[] deadlines = new long[16];
+    private long[] offsets = new long[16];
+    private int size;
+
+    void add(User user, Internship internship, long deadline, long offset) {
+      if (size == users.length) {
+        users = Arrays.copyOf(users, size * 2);
+        internships = Arrays.copyOf(internships, size * 2);
+        deadlines = Arrays.copyOf(deadlines, size * 2);
+        offsets = Arrays.copyOf(offsets, size * 2);
+      }
+      users[size] = user;
+      internships[size] = internship;
+      deadlines[size] = deadline;
+      offsets[size] = offset;
+      size++;
+    }
+
+    int size() {
+      return size;
+    }
+
+    User getUser(int index) {
+      return users[index];
+    }
+
+    Internship getInternship(int index) {
+      return internships[index];
+    }
+
+    /**
+     * @return Deadline in epoch milliseconds
+     */
+    long getDeadline(int index) {
+      return deadlines[index];
+    }
+
+    /**
+     * @return Offset of the reminder window before the deadline, in
+     *         milliseconds
+     */
+    long getOffset(int index) {
+      return offsets[index];
+    }
+
+    /**
+     * Empty the batch, dropping its references so they can be collected
+     */
+    void clear() {
+      Arrays.fill(users, 0, size, null);
+      Arrays.fill(internships, 0, size, null);
+      size = 0;
+    }
+  }
+}
@@ -0,0 +1,426 @@
+package com.hireme.internship.service;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bounded, asynchronous queue between reminder producers and the
+ * {@link EmailService}.
+ *
+ * A fixed set of workers drains the queue so one slow SMTP server no longer
+ * stalls the scheduler. Each worker takes up to a batch of queued reminders
+ * at a time and sends them over one SMTP connection with
+ * {@link EmailService#sendReminderEmails}. Failed sends are retried with
+ * exponential backoff;
+ * reminders that exhaust their attempts end up in a bounded dead-letter
+ * store. When the queue is full, {@link #submit(Reminder)} blocks the
+ * producer for up to the submit timeout.
+ */
+public class EmailDispatcher {
+  private static final Logger LOGGER = Logger.getLogger(EmailDispatcher.class.getName());
+
+  private static final int DEAD_LETTER_CAPACITY = 1000;
+  private static final long MAX_BACKOFF_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+  private final EmailService emailService;
+  private final BlockingQueue<Task> queue;
+  private final int batchSize;
+  private final int maxAttempts;
+  private final long initialBackoffMillis;
+  private final long submitTimeoutMillis;
+  private final List<Thread> workers = new ArrayList<>();
+  private final ScheduledExecutorService retryScheduler;
+  private final Deque<DeadLetter> deadLetters = new ConcurrentLinkedDeque<>();
+  private final Set<Task> awaitingRetry = ConcurrentHashMap.newKeySet();
+
+  private final LongAdder submitted = new LongAdder();
+  private final LongAdder sent = new LongAdder();
+  private final LongAdder failedAttempts = new LongAdder();
+  private final LongAdder deadLettered = new LongAdder();
+  // Sum over sent messages of each one's share of its batch's send time
+  private final LongAdder totalLatencyNanos = new LongAdder();
+
+  private volatile boolean running = true;
+  private volatile Consumer<Reminder> deliveryListener;
+  private volatile Consumer<DeadLetter> deadLetterListener;
+
+  /**
+   * @param emailService         Service that performs the actual SMTP sends
+   * @param queueCapacity        Maximum number of queued reminders
+   * @param workerCount          Number of concurrent senders
+   * @param batchSize            Most reminders a sender sends per connection
+   *                             borrow
+   * @param maxAttempts          Attempts per reminder before dead-lettering
+   * @param initialBackoffMillis Delay before the first retry; doubles per attempt
+   * @param submitTimeoutMillis  How long submit() blocks when the queue is full
+   */
+  public EmailDispatcher(EmailService emailService, int queueCapacity, int workerCount, int batchSize,
+      int maxAttempts, long initialBackoffMillis, long submitTimeoutMillis) {
+    if (queueCapacity <= 0 || workerCount <= 0 || batchSize <= 0 || maxAttempts <= 0) {
+      throw new IllegalArgumentException("queueCapacity, workerCount, batchSize and maxAttempts must be positive");
+    }
+    this.emailService = emailService;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.batchSize = batchSize;
+    this.maxAttempts = maxAttempts;
+    this.initialBackoffMillis = initialBackoffMillis;
+    this.submitTimeoutMillis = submitTimeoutMillis;
+
+    this.retryScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, "hireme-email-retry");
+      thread.setDaemon(true);
+      return thread;
+    });
+
+    ThreadFactory factory = workerThreadFactory();
+    for (int i = 0; i < workerCount; i++) {
+      Thread worker = factory.newThread(this::runWorker);
+      worker.setName("hireme-email-" + i);
+      workers.add(worker);
+      worker.start();
+    }
+  }
+
+  /**
+   * Queue a reminder for delivery, waiting for space if the queue is full
+   *
+   * @return false if the reminder was rejected because the queue stayed full
+   *         for the whole submit timeout or the dispatcher is shut down; it is
+   *         then recorded as a dead letter
+   */
+  public boolean submit(Reminder reminder) {
+    if (!running) {
+      deadLetter(new Task(reminder), "Dispatcher is shut down");
+      return false;
+    }
+    try {
+      if (queue.offer(new Task(reminder), submitTimeoutMillis, TimeUnit.MILLISECONDS)) {
+        submitted.increment();
+        return true;
+      }
+      deadLetter(new Task(reminder), "Dispatch queue full");
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      deadLetter(new Task(reminder), "Interrupted while queueing");
+    }
+    return false;
+  }
+
+  /**
+   * Set a callback run on the worker thread after each successful send
+   */
+  public void setDeliveryListener(Consumer<Reminder> deliveryListener) {
+    this.deliveryListener = deliveryListener;
+  }
+
+  /**
+   * Called on the thread that gives up on a reminder, after it has been
+   * added to the dead-letter store
+   */
+  public void setDeadLetterListener(Consumer<DeadLetter> deadLetterListener) {
+    this.deadLetterListener = deadLetterListener;
+  }
+
+  /**
+   * Stop accepting reminders, wait for queued ones to be sent and stop the
+   * workers
+   */
+  public void shutdown(long timeout, TimeUnit unit) {
+    running = false;
+    retryScheduler.shutdownNow();
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    for (Thread worker : workers) {
+      try {
+        worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      }
+    }
+    for (Thread worker : workers) {
+      worker.interrupt();
+    }
+    Task task;
+    while ((task = queue.poll()) != null) {
+      deadLetter(task, "Dispatcher shut down before delivery");
+    }
+    for (Task retry : awaitingRetry) {
+      if (awaitingRetry.remove(retry)) {
+        deadLetter(retry, "Dispatcher shut down before retry");
+      }
+    }
+  }
+
+  /**
+   * Reminders that could not be delivered, oldest first
+   */
+  public List<DeadLetter> getDeadLetters() {
+    return new ArrayList<>(deadLetters);
+  }
+
+  /**
+   * Snapshot of the dispatch metrics
+   */
+  public Stats getStats() {
+    long sentCount = sent.sum();
+    long failures = failedAttempts.sum();
+    long attempts = sentCount + failures;
+    return new Stats(queue.size(), awaitingRetry.size(), submitted.sum(), sentCount, failures, deadLettered.sum(),
+        sentCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalLatencyNanos.sum() / sentCount),
+        attempts == 0 ? 0 : (double) failures / attempts);
+  }
+
+  private void runWorker() {
+    List<Task> batch = new ArrayList<>(batchSize);
+    while (running || !queue.isEmpty()) {
+      Task task;
+      try {
+        task = queue.poll(500, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        return;
+      }
+      if (task != null) {
+        batch.add(task);
+        queue.drainTo(batch, batchSize - 1);
+        deliver(batch);
+        batch.clear();
+      }
+    }
+  }
+
+  private void deliver(List<Task> batch) {
+    List<Reminder> reminders = new ArrayList<>(batch.size());
+    for (Task task : batch) {
+      task.attempts++;
+      reminders.add(task.reminder);
+    }
+
+    long start = System.nanoTime();
+    Map<Reminder, ? extends Exception> failures;
+    try {
+      failures = emailService.sendReminderEmails(reminders);
+    } catch (RuntimeException e) {
+      Map<Reminder, RuntimeException> all = new IdentityHashMap<>();
+      for (Reminder reminder : reminders) {
+        all.put(reminder, e);
+      }
+      failures = all;
+    }
+    // The batch shares one SMTP session, so each message is charged an
+    // equal part of its time
+    long latency = (System.nanoTime() - start) / batch.size();
+
+    Consumer<Reminder> listener = deliveryListener;
+    for (Task task : batch) {
+      Exception failure = failures.get(task.reminder);
+      if (failure != null) {
+        handleFailure(task, failure);
+        continue;
+      }
+      sent.increment();
+      totalLatencyNanos.add(latency);
+      if (listener != null) {
+        try {
+          listener.accept(task.reminder);
+        } catch (RuntimeException e) {
+          LOGGER.log(Level.WARNING, "Delivery listener failed for " + task.reminder, e);
+        }
+      }
+    }
+  }
+
+  private void handleFailure(Task task, Exception e) {
+    failedAttempts.increment();
+    if (task.attempts >= maxAttempts || !running) {
+      LOGGER.log(Level.WARNING, "Giving up on reminder after " + task.attempts + " attempts: " + task.reminder, e);
+      deadLetter(task, e.getMessage());
+    } else {
+      scheduleRetry(task, e);
+    }
+  }
+
+  private void scheduleRetry(Task task, Exception cause) {
+    long delay = Math.min(MAX_BACKOFF_MILLIS, initialBackoffMillis << Math.min(30, task.attempts - 1));
+    LOGGER.log(Level.FINE, "Retrying reminder in " + delay + " ms: " + task.reminder, cause);
+    awaitingRetry.add(task);
+    try {
+      retryScheduler.schedule(() -> {
+        if (!awaitingRetry.remove(task)) {
+          return;
+        }
+        if (!queue.offer(task)) {
+          // Queue is full of fresh work; back off again rather than block
+          if (task.attempts >= maxAttempts) {
+            deadLetter(task, "Dispatch queue full on retry");
+          } else {
+            task.attempts++;
+            scheduleRetry(task, cause);
+          }
+        }
+      }, delay, TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      if (awaitingRetry.remove(task)) {
+        deadLetter(task, "Dispatcher shut down before retry");
+      }
+    }
+  }
+
+  private void deadLetter(Task task, String reason) {
+    deadLettered.increment();
+    DeadLetter deadLetter = new DeadLetter(task.reminder, reason, task.attempts, System.currentTimeMillis());
+    deadLetters.addLast(deadLetter);
+    while (deadLetters.size() > DEAD_LETTER_CAPACITY) {
+      deadLetters.pollFirst();
+    }
+
+    Consumer<DeadLetter> listener = deadLetterListener;
+    if (listener != null) {
+      try {
+        listener.accept(deadLetter);
+      } catch (RuntimeException e) {
+        LOGGER.log(Level.WARNING, "Dead-letter listener failed for " + task.reminder, e);
+      }
+    }
+  }
+
+  /**
+   * Use virtual threads when running on a JDK that has them, otherwise
+   * daemon platform threads
+   */
+  private static ThreadFactory workerThreadFactory() {
+    try {
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return r -> {
+        Thread thread = new Thread(r);
+        thread.setDaemon(true);
+        return thread;
+      };
+    }
+  }
+
+  private static final class Task {
+    final Reminder reminder;
+    int attempts;
+
+    Task(Reminder reminder) {
+      this.reminder = reminder;
+    }
+  }
+
+  /**
+   * A reminder that could not be delivered
+   */
+  public static final class DeadLetter {
+    private final Reminder reminder;
+    private final String reason;
+    private final int attempts;
+    private final long failedAt;
+
+    DeadLetter(Reminder reminder, String reason, int attempts, long failedAt) {
+      this.reminder = reminder;
+      this.reason = reason;
+      this.attempts = attempts;
+      this.failedAt = failedAt;
+    }
+
+    public Reminder getReminder() {
+      return reminder;
+    }
+
+    public String getReason() {
+      return reason;
+    }
+
+    public int getAttempts() {
+      return attempts;
+    }
+
+    public long getFailedAt() {
+      return failedAt;
+    }
+  }
+
+  /**
+   * Point-in-time dispatch metrics
+   */
+  public static final class Stats {
+    private final int queueDepth;
+    private final int awaitingRetry;
+    private final long submitted;
+    private final long sent;
+    private final long failedAttempts;
+    private final long deadLettered;
+    private final long averageLatencyMillis;
+    private final double failureRate;
+
+    Stats(int queueDepth, int awaitingRetry, long submitted, long sent, long failedAttempts, long deadLettered,
+        long averageLatencyMillis, double failureRate) {
+      this.queueDepth = queueDepth;
+      this.awaitingRetry = awaitingRetry;
+      this.submitted = submitted;
+      this.sent = sent;
+      this.failedAttempts = failedAttempts;
+      this.deadLettered = deadLettered;
+      this.averageLatencyMillis = averageLatencyMillis;
+      this.failureRate = failureRate;
+    }
+
+    public int getQueueDepth() {
+      return queueDepth;
+    }
+
+    public int getAwaitingRetry() {
+      return awaitingRetry;
+    }
+
+    public long getSubmitted() {
+      return submitted;
+    }
+
+    public long getSent() {
+      return sent;
+    }
+
+    public long getFailedAttempts() {
+      return failedAttempts;
+    }
+
+    public long getDeadLettered() {
+      return deadLettered;
+    }
+
+    public long getAverageLatencyMillis() {
+      return averageLatencyMillis;
+    }
+
+    public double getFailureRate() {
+      return failureRate;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("queue=%d, retrying=%d, submitted=%d, sent=%d, failedAttempts=%d, deadLettered=%d, " +
+          "avgLatency=%dms, failureRate=%.2f", queueDepth, awaitingRetry, submitted, sent, failedAttempts,
+          deadLettered, averageLatencyMillis, failureRate);
+    }
+  }
+}
@@ -6,72 +6,273 @@ import com.hireme.internship.model.User;
 import javax.mail.*;
 import javax.mail.internet.InternetAddress;
 import javax.mail.internet.MimeMessage;
-import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
+/**
+ * Sends reminder emails over SMTP.
+ *
+ * A single mail {@link Session} is shared by all sends, and connected
+ * {@link Transport}s are kept in a small pool so consecutive messages reuse
+ * the same SMTP connection instead of paying a TCP and TLS handshake each.
+ * Connecting, reading and writing time out after {@code hireme.smtp.timeoutMs}
+ * unless the properties say otherwise, so a hung server fails the send
+ * instead of holding a pooled connection forever.
+ */
 public class EmailService {
+  private static final Logger LOGGER = Logger.getLogger(EmailService.class.getName());
+
   // For demonstration purposes only - in a real app, these would come from
   // configuration
   private static final String EMAIL_USERNAME = "ashfaqthegamer@gmail.com";
   private static final String EMAIL_PASSWORD = "your-app-password";
 
-  public void sendReminderEmail(User user, Internship internship, int daysLeft) {
-    try {
-      // Setup mail server properties
-      Properties properties = new Properties();
-      properties.put("mail.smtp.auth", "true");
-      properties.put("mail.smtp.starttls.enable", "true");
-      properties.put("mail.smtp.host", "smtp.gmail.com");
-      properties.put("mail.smtp.port", "587");
+  private static final int DEFAULT_POOL_SIZE = Integer.getInteger("hireme.smtp.poolSize", 2);
+  private static final String TIMEOUT_MILLIS = String.valueOf(Long.getLong("hireme.smtp.timeoutMs", 30_000));
+  private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+  private final Session session;
+  private final String fromAddress;
+  private final int poolSize;
+  private final BlockingQueue<Transport> idleTransports = new LinkedBlockingQueue<>();
+  private final AtomicInteger transportCount = new AtomicInteger();
+
+  public EmailService() {
+    this(defaultProperties(),
+        System.getProperty("hireme.smtp.username", EMAIL_USERNAME),
+        System.getProperty("hireme.smtp.password", EMAIL_PASSWORD),
+        DEFAULT_POOL_SIZE);
+  }
+
+  /**
+   * Creates a service for an arbitrary SMTP server, e.g. a local stand-in
+   * server during development
+   *
+   * @param smtpProperties JavaMail properties (host, port, TLS, ...)
+   * @param username       SMTP user, or null for an unauthenticated server
+   * @param password       SMTP password
+   * @param poolSize       Maximum number of open SMTP connections
+   */
+  public EmailService(Properties smtpProperties, String username, String password, int poolSize) {
+    if (poolSize <= 0) {
+      throw new IllegalArgumentException("poolSize must be positive");
+    }
+    Properties properties = new Properties();
+    properties.putAll(smtpProperties);
+    properties.putIfAbsent("mail.smtp.connectiontimeout", TIMEOUT_MILLIS);
+    properties.putIfAbsent("mail.smtp.timeout", TIMEOUT_MILLIS);
+    properties.putIfAbsent("mail.smtp.writetimeout", TIMEOUT_MILLIS);
 
-      // Create a session with authentication
-      Session session = Session.getInstance(properties, new Authenticator() {
+    Authenticator authenticator = null;
+    if (username != null) {
+      properties.put("mail.smtp.auth", "true");
+      authenticator = new Authenticator() {
         @Override
         protected PasswordAuthentication getPasswordAuthentication() {
-          return new PasswordAuthentication(EMAIL_USERNAME, EMAIL_PASSWORD);
+          return new PasswordAuthentication(username, password);
+        }
+      };
+    }
+
+    this.session = Session.getInstance(properties, authenticator);
+    this.fromAddress = username != null ? username : properties.getProperty("mail.from", EMAIL_USERNAME);
+    this.poolSize = poolSize;
+  }
+
+  private static Properties defaultProperties() {
+    Properties properties = new Properties();
+    properties.put("mail.smtp.starttls.enable", System.getProperty("hireme.smtp.starttls", "true"));
+    properties.put("mail.smtp.host", System.getProperty("hireme.smtp.host", "smtp.gmail.com"));
+    properties.put("mail.smtp.port", System.getProperty("hireme.smtp.port", "587"));
+    return properties;
+  }
+
+  /**
+   * Send a batch of reminders, pipelining them over one pooled SMTP
+   * connection. A broken connection is reopened and the message retried once.
+   * If the server cannot be reached at all, the rest of the batch fails
+   * with the same exception straight away rather than each reminder waiting
+   * out its own connect timeout; the caller decides when to retry.
+   *
+   * @param reminders Reminders to send
+   * @return The reminders that could not be sent, each with the reason
+   */
+  public Map<Reminder, MessagingException> sendReminderEmails(Collection<Reminder> reminders) {
+    Map<Reminder, MessagingException> failed = new IdentityHashMap<>();
+    if (reminders.isEmpty()) {
+      return failed;
+    }
+
+    Transport transport;
+    try {
+      transport = borrowTransport();
+    } catch (MessagingException e) {
+      LOGGER.log(Level.WARNING, "Could not connect to SMTP server", e);
+      for (Reminder reminder : reminders) {
+        failed.put(reminder, e);
+      }
+      return failed;
+    }
+
+    try {
+      MessagingException connectFailure = null;
+      for (Reminder reminder : reminders) {
+        if (connectFailure != null) {
+          failed.put(reminder, connectFailure);
+          continue;
+        }
+        try {
+          send(transport, reminder);
+          LOGGER.info("Reminder email sent to " + reminder.getUser().getEmail() + " for "
+              + reminder.getInternship().getCompany());
+        } catch (ConnectFailedException e) {
+          LOGGER.log(Level.WARNING, "Could not reconnect to SMTP server; failing the rest of the batch", e);
+          connectFailure = e;
+          failed.put(reminder, e);
+        } catch (MessagingException e) {
+          LOGGER.log(Level.WARNING, "Failed to send email: " + reminder, e);
+          failed.put(reminder, e);
+        }
+      }
+    } finally {
+      releaseTransport(transport);
+    }
+    return failed;
+  }
+
+  /**
+   * Close all pooled SMTP connections
+   */
+  public void close() {
+    Transport transport;
+    while ((transport = idleTransports.poll()) != null) {
+      closeQuietly(transport);
+    }
+  }
+
+  private void send(Transport transport, Reminder reminder) throws MessagingException {
+    MimeMessage message = createMessage(reminder);
+    if (!transport.isConnected()) {
+      connect(transport);
+    }
+    try {
+      transport.sendMessage(message, message.getAllRecipients());
+    } catch (SendFailedException e) {
+      // Rejected recipient: the connection itself is still usable
+      throw e;
+    } catch (MessagingException e) {
+      LOGGER.log(Level.FINE, "SMTP connection failed, reconnecting", e);
+      closeQuietly(transport);
+      connect(transport);
+      transport.sendMessage(message, message.getAllRecipients());
+    }
+  }
+
+  private static void connect(Transport transport) throws ConnectFailedException {
+    try {
+      transport.connect();
+    } catch (MessagingException e) {
+      throw new ConnectFailedException(e);
+    }
+  }
+
+  private MimeMessage createMessage(Reminder reminder) throws MessagingException {
+    User user = reminder.getUser();
+    Internship internship = reminder.getInternship();
+    int daysLeft = reminder.getDaysLeft();
+
+    MimeMessage message = new MimeMessage(session);
+    message.setFrom(new InternetAddress(fromAddress));
+    message.setRecipients(Message.RecipientType.TO, InternetAddress.parse(user.getEmail()));
+
+    String deadlineStr = DATE_FORMAT.format(
+        Instant.ofEpochMilli(internship.getDeadline().getTime()).atZone(ZoneId.systemDefault()));
+
+    message.setSubject("Reminder: " + internship.getCompany() + " internship deadline in " + daysLeft + " days");
+
+    String messageBody = String.format(
+        "Dear %s,\n\n" +
+            "This is a reminder that the application deadline for the %s position at %s is approaching!\n\n" +
+            "Position: %s\n" +
+            "Company: %s\n" +
+            "Deadline: %s (%d days left)\n" +
+            "Description: %s\n\n" +
+            "Application URL: %s\n\n" +
+            "Good luck with your application!\n\n" +
+            "HireME Internship Reminder",
+        user.getName(),
+        internship.getPosition(),
+        internship.getCompany(),
+        internship.getPosition(),
+        internship.getCompany(),
+        deadlineStr,
+        daysLeft,
+        internship.getDescription(),
+        internship.getUrl());
+
+    message.setText(messageBody);
+    message.saveChanges();
+    return message;
+  }
+
+  private Transport borrowTransport() throws MessagingException {
+    Transport transport = idleTransports.poll();
+    if (transport == null) {
+      if (transportCount.incrementAndGet() <= poolSize) {
+        transport = session.getTransport("smtp");
+      } else {
+        transportCount.decrementAndGet();
+        try {
+          transport = idleTransports.take();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new MessagingException("Interrupted while waiting for an SMTP connection", e);
         }
-      });
-
-      // Create and format message
-      Message message = new MimeMessage(session);
-      message.setFrom(new InternetAddress(EMAIL_USERNAME));
-      message.setRecipients(Message.RecipientType.TO, InternetAddress.parse(user.getEmail()));
-
-      SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
-      String deadlineStr = dateFormat.format(internship.getDeadline());
-
-      message.setSubject("Reminder: " + internship.getCompany() + " internship deadline in " + daysLeft + " days");
-
-      String messageBody = String.format(
-          "Dear %s,\n\n" +
-              "This is a reminder that the application deadline for the %s position at %s is approaching!\n\n" +
-              "Position: %s\n" +
-              "Company: %s\n" +
-              "Deadline: %s (%d days left)\n" +
-              "Description: %s\n\n" +
-              "Application URL: %s\n\n" +
-              "Good luck with your application!\n\n" +
-              "HireME Internship Reminder",
-          user.getName(),
-          internship.getPosition(),
-          internship.getCompany(),
-          internship.getPosition(),
-          internship.getCompany(),
-          deadlineStr,
-          daysLeft,
-          internship.getDescription(),
-          internship.getUrl());
-
-      message.setText(messageBody);
-
-      // Send message
-      Transport.send(message);
-
-      System.out.println("Reminder email sent to " + user.getEmail() + " for " + internship.getCompany());
+      }
+    }
+
+    if (!transport.isConnected()) {
+      try {
+        transport.connect();
+      } catch (MessagingException e) {
+        releaseTransport(transport);
+        throw e;
+      }
+    }
+    return transport;
+  }
 
+  private void releaseTransport(Transport transport) {
+    idleTransports.offer(transport);
+  }
+
+  private static void closeQuietly(Transport transport) {
+    try {
+      transport.close();
     } catch (MessagingException e) {
-      System.out.println("Failed to send email: " + e.getMessage());
-      e.printStackTrace();
+      LOGGER.log(Level.FINE, "Error closing SMTP connection", e);
+    }
+  }
+
+  /**
+   * The SMTP server could not be reached, as opposed to rejecting one
+   * message
+   */
+  private static final class ConnectFailedException extends MessagingException {
+    private static final long serialVersionUID = 1L;
+
+    ConnectFailedException(MessagingException cause) {
+      super("Could not connect to SMTP server: " + cause.getMessage(), cause);
     }
   }
 }
@@ -0,0 +1,50 @@
+package com.hireme.internship.service;
+
+import com.hireme.internship.model.Internship;
+import com.hireme.internship.model.User;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A single reminder email to be sent: who, for which internship, and how many
+ * days are left before its deadline. The window identifies which of the
+ * reminders for that deadline this is, in minutes before the deadline.
+ */
+public class Reminder {
+  private final User user;
+  private final Internship internship;
+  private final int daysLeft;
+  private final int window;
+
+  public Reminder(User user, Internship internship, int daysLeft) {
+    this(user, internship, daysLeft, (int) TimeUnit.DAYS.toMinutes(daysLeft));
+  }
+
+  public Reminder(User user, Internship internship, int daysLeft, int window) {
+    this.user = user;
+    this.internship = internship;
+    this.daysLeft = daysLeft;
+    this.window = window;
+  }
+
+  public User getUser() {
+    return user;
+  }
+
+  public Internship getInternship() {
+    return internship;
+  }
+
+  public int getDaysLeft() {
+    return daysLeft;
+  }
+
+  public int getWindow() {
+    return window;
+  }
+
+  @Override
+  public String toString() {
+    return user.getEmail() + " <- " + internship + " (" + daysLeft + " days left)";
+  }
+}
@@ -1,34 +1,105 @@
 package com.hireme.internship.service;
 
+import com.hireme.internship.model.Group;
 import com.hireme.internship.model.Internship;
+import com.hireme.internship.model.InternshipListener;
+import com.hireme.internship.model.ReminderSchedule;
 import com.hireme.internship.model.User;
+import com.hireme.internship.model.UserListener;
+import com.hireme.internship.utils.DatabaseUtils;
+import com.hireme.internship.utils.ReminderLedgerEntry;
 
-import java.util.Date;
-import java.util.HashSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
+/**
+ * Sends deadline reminders for the internships of registered users.
+ *
+ * Each user gets a reminder per offset in their {@link ReminderSchedule}
+ * (e.g. 7 days, 3 days, 1 day and 2 hours before a deadline). Pending
+ * reminders are kept in a {@link DeadlineIndex} backed by a timing wheel and
+ * updated incrementally as internships are saved, edited, removed or shared. The
+ * scheduler ticks every {@code hireme.reminders.tickMs} and each tick only
+ * touches the reminders that are due, instead of rescanning every user,
+ * group and internship.
+ *
+ * Sent reminders are recorded in the reminder_ledger table and due reminders
+ * are checked against it before dispatch, so a restart neither resends
+ * reminders nor skips ones that came due while the app was down.
+ */
 public class ReminderService {
-  private static final int REMINDER_DAYS = 3; // Send reminder 3 days before deadline
+  private static final Logger LOGGER = Logger.getLogger(ReminderService.class.getName());
+
+  private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+  // How often due reminders are collected; also their timing precision
+  private static final long TICK_MILLIS = Long.getLong("hireme.reminders.tickMs", TimeUnit.MINUTES.toMillis(1));
+  // Turned off when headless ReminderWorkers send the reminders instead
+  private static final boolean LOCAL_SENDING = Boolean.parseBoolean(
+      System.getProperty("hireme.reminders.local", "true"));
+
+  // Dispatch queue settings, overridable with -Dhireme.email.* system
+  // properties
+  private static final int DISPATCH_QUEUE_CAPACITY = Integer.getInteger("hireme.email.queueCapacity", 1000);
+  private static final int DISPATCH_WORKERS = Integer.getInteger("hireme.email.workers", 2);
+  private static final int DISPATCH_BATCH_SIZE = Integer.getInteger("hireme.email.batchSize", 20);
+  private static final int DISPATCH_MAX_ATTEMPTS = Integer.getInteger("hireme.email.maxAttempts", 5);
+  private static final long DISPATCH_INITIAL_BACKOFF_MS = Long.getLong("hireme.email.initialBackoffMs", 1000);
+  private static final long DISPATCH_SUBMIT_TIMEOUT_MS = Long.getLong("hireme.email.submitTimeoutMs", 30_000);
 
   private final EmailService emailService;
+  private final EmailDispatcher dispatcher;
   private final ScheduledExecutorService scheduler;
+  // Concurrent: registerUser/unregisterUser run on the UI and login threads
+  // while the scheduler and getRegisteredUserCount read it without the lock.
+  // Writes still hold the lock to keep the index in step.
   private final Set<User> users;
 
+  private final DeadlineIndex index;
+  // Reused by every checkDeadlines pass; only touched on the scheduler thread
+  private final DeadlineIndex.DueBatch due = new DeadlineIndex.DueBatch();
+  private final Map<User, UserListener> userListeners = new HashMap<>();
+  private final Map<Group, InternshipListener> groupListeners = new HashMap<>();
+
+  private boolean started;
+
   public ReminderService() {
     this.emailService = new EmailService();
+    this.dispatcher = new EmailDispatcher(emailService, DISPATCH_QUEUE_CAPACITY, DISPATCH_WORKERS,
+        DISPATCH_BATCH_SIZE, DISPATCH_MAX_ATTEMPTS, DISPATCH_INITIAL_BACKOFF_MS, DISPATCH_SUBMIT_TIMEOUT_MS);
     this.scheduler = Executors.newScheduledThreadPool(1);
-    this.users = new HashSet<>();
+    this.users = ConcurrentHashMap.newKeySet();
+    this.index = new DeadlineIndex(TICK_MILLIS, System.currentTimeMillis());
+    this.dispatcher.setDeliveryListener(this::recordSent);
   }
 
-  public void start() {
-    // Check for deadlines daily at midnight
-    scheduler.scheduleAtFixedRate(this::checkDeadlines, 0, 1, TimeUnit.DAYS);
+  /**
+   * Start sending reminders. Calling it again, e.g. on every login, has no
+   * effect, and neither does calling it with {@code hireme.reminders.local}
+   * set to false.
+   */
+  public synchronized void start() {
+    if (started || !LOCAL_SENDING) {
+      return;
+    }
+    started = true;
+    scheduler.scheduleAtFixedRate(this::checkDeadlines, 0, TICK_MILLIS, TimeUnit.MILLISECONDS);
   }
 
   public void stop() {
+    synchronized (this) {
+      started = false;
+    }
     scheduler.shutdown();
     try {
       if (!scheduler.awaitTermination(60, TimeUnit.SECONDS)) {
@@ -38,51 +109,299 @@ public class ReminderService {
       scheduler.shutdownNow();
       Thread.currentThread().interrupt();
     }
+    dispatcher.shutdown(30, TimeUnit.SECONDS);
+    emailService.close();
+  }
+
+  public synchronized void registerUser(User user) {
+    if (!users.add(user)) {
+      return;
+    }
+
+    indexUser(user);
+    UserListener listener = new RegisteredUserListener(user);
+    userListeners.put(user, listener);
+    user.addListener(listener);
+  }
+
+  public synchronized void unregisterUser(User user) {
+    if (!users.remove(user)) {
+      return;
+    }
+
+    user.removeListener(userListeners.remove(user));
+    unindexUser(user);
+  }
+
+  /**
+   * Add reminders for everything the user sees. Must hold the lock.
+   */
+  private void indexUser(User user) {
+    long now = System.currentTimeMillis();
+    for (Internship internship : user.getSavedInternships()) {
+      index.add(user, internship, now);
+    }
+    for (Group group : user.getGroups()) {
+      subscribe(group);
+      for (Internship internship : group.getSharedInternships()) {
+        index.add(user, internship, now);
+      }
+    }
+  }
+
+  /**
+   * Drop all of the user's reminders. Must hold the lock.
+   */
+  private void unindexUser(User user) {
+    for (Internship internship : user.getSavedInternships()) {
+      index.remove(user, internship);
+    }
+    for (Group group : user.getGroups()) {
+      for (Internship internship : group.getSharedInternships()) {
+        index.remove(user, internship);
+      }
+      unsubscribeIfUnused(group);
+    }
   }
 
-  public void registerUser(User user) {
-    users.add(user);
+  /**
+   * Email dispatch metrics (queue depth, send latency, failure rate)
+   */
+  public EmailDispatcher.Stats getDispatchStats() {
+    return dispatcher.getStats();
   }
 
-  public void unregisterUser(User user) {
-    users.remove(user);
+  /**
+   * Reminders that could not be delivered after all retries
+   */
+  public List<EmailDispatcher.DeadLetter> getFailedReminders() {
+    return dispatcher.getDeadLetters();
   }
 
+  /**
+   * Number of users whose reminders are being sent
+   */
+  public int getRegisteredUserCount() {
+    return users.size();
+  }
+
+  /**
+   * Number of reminders waiting to fire
+   */
+  public synchronized int getPendingReminderCount() {
+    return index.pendingCount();
+  }
+
+  /**
+   * One scheduler tick. Nothing may escape: an exception thrown out of a
+   * scheduleAtFixedRate task silently cancels all later ticks.
+   */
   private void checkDeadlines() {
-    Date now = new Date();
-    long currentTimeMillis = now.getTime();
+    long now = System.currentTimeMillis();
+    try {
+      synchronized (this) {
+        if (index.pollDue(now, due) == 0) {
+          // Nothing came due this tick, which is most ticks: no allocation
+          return;
+        }
+      }
+      dispatchDue(now);
+    } catch (RuntimeException e) {
+      LOGGER.log(Level.SEVERE, "Reminder pass failed; " + due.size() + " due reminders were not sent", e);
+    } finally {
+      due.clear();
+    }
+  }
 
-    // Target time: REMINDER_DAYS days from now
-    long targetTimeMillis = currentTimeMillis + (REMINDER_DAYS * 24 * 60 * 60 * 1000);
-    Date targetDate = new Date(targetTimeMillis);
+  /**
+   * Queue the reminders in {@link #due} that are not in the ledger yet
+   */
+  private void dispatchDue(long now) {
+    List<ReminderLedgerEntry> ledgerEntries = new ArrayList<>(due.size());
+    for (int i = 0; i < due.size(); i++) {
+      ledgerEntries.add(new ReminderLedgerEntry(due.getUser(i).getEmail(), due.getInternship(i).getId(),
+          windowMinutes(due.getOffset(i))));
+    }
+    Set<ReminderLedgerEntry> alreadySent = findSentReminders(ledgerEntries);
 
-    Set<Internship> processedInternships = new HashSet<>();
+    // Hand off to the dispatch queue; blocks only if the queue is full
+    int rejected = 0;
+    for (int i = 0; i < due.size(); i++) {
+      if (alreadySent.contains(ledgerEntries.get(i))) {
+        continue;
+      }
+      Reminder reminder = new Reminder(due.getUser(i), due.getInternship(i), daysLeft(due.getDeadline(i), now),
+          windowMinutes(due.getOffset(i)));
+      if (!dispatcher.submit(reminder)) {
+        rejected++;
+      }
+    }
+    if (rejected > 0) {
+      LOGGER.warning(rejected + " of " + due.size() + " reminders could not be queued for delivery");
+    }
+  }
 
-    for (User user : users) {
-      // First check user's saved internships
-      for (Internship internship : user.getSavedInternships()) {
-        if (!processedInternships.contains(internship) && shouldSendReminder(internship, now, targetDate)) {
-          emailService.sendReminderEmail(user, internship, REMINDER_DAYS);
-          processedInternships.add(internship);
+  private static int windowMinutes(long offsetMillis) {
+    return (int) TimeUnit.MILLISECONDS.toMinutes(offsetMillis);
+  }
+
+  /**
+   * Bulk ledger lookup. If the ledger can't be read, reminders are sent
+   * anyway: a duplicate email is better than a missed deadline.
+   */
+  private static Set<ReminderLedgerEntry> findSentReminders(List<ReminderLedgerEntry> entries) {
+    try {
+      return DatabaseUtils.findSentReminders(entries);
+    } catch (SQLException e) {
+      LOGGER.log(Level.WARNING, "Could not read the reminder ledger", e);
+      return Collections.emptySet();
+    }
+  }
+
+  /**
+   * Record a delivered reminder in the ledger; runs on the dispatcher's
+   * worker thread
+   */
+  private void recordSent(Reminder reminder) {
+    try {
+      DatabaseUtils.recordReminderSent(new ReminderLedgerEntry(reminder.getUser().getEmail(),
+          reminder.getInternship().getId(), reminder.getWindow()));
+    } catch (SQLException e) {
+      LOGGER.log(Level.WARNING, "Could not record sent reminder " + reminder, e);
+    }
+  }
+
+  private static int daysLeft(long deadline, long now) {
+    long remaining = deadline - now;
+    return (int) Math.max(1, (remaining + DAY_MILLIS - 1) / DAY_MILLIS);
+  }
+
+  private void subscribe(Group group) {
+    if (!groupListeners.containsKey(group)) {
+      InternshipListener listener = new SharedInternshipListener(group);
+      groupListeners.put(group, listener);
+      group.addListener(listener);
+    }
+  }
+
+  private void unsubscribeIfUnused(Group group) {
+    for (User member : group.getMembers()) {
+      if (users.contains(member) && member.getGroups().contains(group)) {
+        return;
+      }
+    }
+    InternshipListener listener = groupListeners.remove(group);
+    if (listener != null) {
+      group.removeListener(listener);
+    }
+  }
+
+  /**
+   * Keeps the index in sync with one registered user's saved internships and
+   * group memberships
+   */
+  private class RegisteredUserListener implements UserListener {
+    private final User user;
+
+    RegisteredUserListener(User user) {
+      this.user = user;
+    }
+
+    @Override
+    public void internshipAdded(Internship internship) {
+      synchronized (ReminderService.this) {
+        index.add(user, internship, System.currentTimeMillis());
+      }
+    }
+
+    @Override
+    public void internshipRemoved(Internship internship) {
+      synchronized (ReminderService.this) {
+        index.remove(user, internship);
+      }
+    }
+
+    @Override
+    public void internshipUpdated(Internship internship) {
+      synchronized (ReminderService.this) {
+        index.update(user, internship, System.currentTimeMillis());
+      }
+    }
+
+    @Override
+    public void groupJoined(Group group) {
+      synchronized (ReminderService.this) {
+        subscribe(group);
+        long now = System.currentTimeMillis();
+        for (Internship internship : group.getSharedInternships()) {
+          index.add(user, internship, now);
         }
       }
+    }
 
-      // Then check internships shared in user's groups
-      for (com.hireme.internship.model.Group group : user.getGroups()) {
+    @Override
+    public void groupLeft(Group group) {
+      synchronized (ReminderService.this) {
         for (Internship internship : group.getSharedInternships()) {
-          if (!processedInternships.contains(internship) && shouldSendReminder(internship, now, targetDate)) {
-            emailService.sendReminderEmail(user, internship, REMINDER_DAYS);
-            processedInternships.add(internship);
-          }
+          index.remove(user, internship);
         }
+        unsubscribeIfUnused(group);
+      }
+    }
+
+    @Override
+    public void reminderScheduleChanged(ReminderSchedule schedule) {
+      synchronized (ReminderService.this) {
+        // Entries keep the schedule they were armed with; rebuild them
+        unindexUser(user);
+        indexUser(user);
       }
     }
   }
 
-  private boolean shouldSendReminder(Internship internship, Date now, Date targetDate) {
-    Date deadline = internship.getDeadline();
+  /**
+   * Fans internships shared in a group out to its registered members
+   */
+  private class SharedInternshipListener implements InternshipListener {
+    private final Group group;
+
+    SharedInternshipListener(Group group) {
+      this.group = group;
+    }
 
-    // If deadline is between now and target date (e.g., 3 days from now)
-    return deadline.after(now) && deadline.before(targetDate);
+    @Override
+    public void internshipAdded(Internship internship) {
+      synchronized (ReminderService.this) {
+        long now = System.currentTimeMillis();
+        for (User member : group.getMembers()) {
+          if (users.contains(member)) {
+            index.add(member, internship, now);
+          }
+        }
+      }
+    }
+
+    @Override
+    public void internshipRemoved(Internship internship) {
+      synchronized (ReminderService.this) {
+        for (User member : group.getMembers()) {
+          if (users.contains(member)) {
+            index.remove(member, internship);
+          }
+        }
+      }
+    }
+
+    @Override
+    public void internshipUpdated(Internship internship) {
+      synchronized (ReminderService.this) {
+        long now = System.currentTimeMillis();
+        for (User member : group.getMembers()) {
+          if (users.contains(member)) {
+            index.update(member, internship, now);
+          }
+        }
+      }
+    }
   }
 }
@@ -0,0 +1,431 @@
+package com.hireme.internship.service;
+
+import com.hireme.internship.model.Internship;
+import com.hireme.internship.model.ReminderSchedule;
+import com.hireme.internship.model.User;
+import com.hireme.internship.utils.DatabaseUtils;
+import com.hireme.internship.utils.ReminderCandidate;
+import com.hireme.internship.utils.ReminderLedgerEntry;
+
+import java.lang.management.ManagementFactory;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Headless reminder sender meant to run on one or more backend nodes.
+ *
+ * Users are split into {@code hireme.worker.shards} shards by a hash of their
+ * email: the first 32 bits of its MD5 digest, read as an unsigned number,
+ * modulo the shard count. The hash is spelled out in SQL rather than taken
+ * from PostgreSQL's internal {@code hashtext()}, whose output may change
+ * between major versions and would silently move users to other shards
+ * while their leases are held. Each worker leases shards through the
+ * reminder_shards table, renews
+ * its leases while it is alive and only looks for reminders of users in
+ * shards it holds, so running several workers against one database spreads
+ * the work. Workers aim for an even share of the shards: they release the
+ * surplus when more workers join and take over the shards of workers whose
+ * leases have lapsed.
+ *
+ * Leases only split the scanning. What keeps a reminder from being sent
+ * twice is the ledger: a worker reserves each reminder there before queueing
+ * it and marks it sent after delivery. A reservation stays with its worker
+ * for as long as the worker's heartbeat is fresh, even if the shard moves on
+ * while the reminder still waits in the dispatch queue or for a retry; it is
+ * dropped if delivery finally fails, and taken over once the worker dies.
+ *
+ * Unlike {@link ReminderService}, which follows the in-memory model of the
+ * logged-in user, the worker computes upcoming deadlines of saved and
+ * shared internships in the database with one query per pass. The owned
+ * shards are split into chunks scanned in parallel on
+ * {@code hireme.worker.parallelism} threads, each reading only its own
+ * shards' rows. Workers and desktop clients share
+ * the ledger, so they never resend each other's reminders.
+ */
+public class ReminderWorker {
+  private static final Logger LOGGER = Logger.getLogger(ReminderWorker.class.getName());
+
+  private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+  // Worker settings, overridable with -Dhireme.worker.* system properties
+  private static final int SHARD_COUNT = Integer.getInteger("hireme.worker.shards", 64);
+  private static final long LEASE_MILLIS = Long.getLong("hireme.worker.leaseMs", 30_000);
+  private static final long POLL_MILLIS = Long.getLong("hireme.worker.pollMs", TimeUnit.MINUTES.toMillis(1));
+  private static final int HORIZON_DAYS = Integer.getInteger("hireme.worker.horizonDays", 30);
+  // Shard chunks scanned at once, each holding a database connection
+  private static final int SCAN_PARALLELISM = Integer.getInteger("hireme.worker.parallelism",
+      Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+  private static final int DISPATCH_QUEUE_CAPACITY = Integer.getInteger("hireme.email.queueCapacity", 1000);
+  private static final int DISPATCH_WORKERS = Integer.getInteger("hireme.email.workers", 2);
+  private static final int DISPATCH_BATCH_SIZE = Integer.getInteger("hireme.email.batchSize", 20);
+  private static final int DISPATCH_MAX_ATTEMPTS = Integer.getInteger("hireme.email.maxAttempts", 5);
+  private static final long DISPATCH_INITIAL_BACKOFF_MS = Long.getLong("hireme.email.initialBackoffMs", 1000);
+  private static final long DISPATCH_SUBMIT_TIMEOUT_MS = Long.getLong("hireme.email.submitTimeoutMs", 30_000);
+
+  private final String workerId;
+  private final EmailService emailService;
+  private final EmailDispatcher dispatcher;
+  private final ScheduledExecutorService scheduler;
+  private final ForkJoinPool scanPool;
+
+  // Leased shards, guarded by this
+  private final Set<Integer> ownedShards = new TreeSet<>();
+  // Local deadline of the leases; shards are not processed past it
+  private volatile long leaseExpiresAt;
+  // Reminders reserved and queued by this worker but not yet marked sent
+  private final Set<ReminderLedgerEntry> inFlight = ConcurrentHashMap.newKeySet();
+  // Held for the duration of a pass, so stop() can wait for it
+  private final Object passLock = new Object();
+  // Set by stop(): no more passes or shard claims, only heartbeats until
+  // the dispatch queue has drained
+  private volatile boolean draining;
+
+  private boolean started;
+
+  public ReminderWorker() {
+    this(System.getProperty("hireme.worker.id", defaultWorkerId()), new EmailService());
+  }
+
+  /**
+   * @param workerId     Id unique among the workers sharing the database
+   * @param emailService Service used to send the reminders; closed on
+   *                     {@link #stop()}
+   */
+  public ReminderWorker(String workerId, EmailService emailService) {
+    this.workerId = workerId;
+    this.emailService = emailService;
+    this.dispatcher = new EmailDispatcher(emailService, DISPATCH_QUEUE_CAPACITY, DISPATCH_WORKERS,
+        DISPATCH_BATCH_SIZE, DISPATCH_MAX_ATTEMPTS, DISPATCH_INITIAL_BACKOFF_MS, DISPATCH_SUBMIT_TIMEOUT_MS);
+    this.scheduler = Executors.newScheduledThreadPool(2, r -> {
+      Thread thread = new Thread(r, "hireme-reminder-worker");
+      thread.setDaemon(true);
+      return thread;
+    });
+    this.scanPool = new ForkJoinPool(SCAN_PARALLELISM);
+    this.dispatcher.setDeliveryListener(this::recordSent);
+    this.dispatcher.setDeadLetterListener(deadLetter -> release(deadLetter.getReminder()));
+  }
+
+  private static String defaultWorkerId() {
+    return ManagementFactory.getRuntimeMXBean().getName() + "-"
+        + Integer.toHexString(ThreadLocalRandom.current().nextInt());
+  }
+
+  public String getWorkerId() {
+    return workerId;
+  }
+
+  /**
+   * Start leasing shards and sending reminders. Calling it again has no
+   * effect.
+   *
+   * @throws SQLException if the shard table can't be prepared
+   */
+  public synchronized void start() throws SQLException {
+    if (started) {
+      return;
+    }
+    DatabaseUtils.ensureShards(SHARD_COUNT);
+    started = true;
+    // Renew well before the lease runs out
+    scheduler.scheduleWithFixedDelay(this::maintainLeases, 0, LEASE_MILLIS / 3, TimeUnit.MILLISECONDS);
+    scheduler.scheduleWithFixedDelay(this::processShards, 0, POLL_MILLIS, TimeUnit.MILLISECONDS);
+    LOGGER.info("Reminder worker " + workerId + " started");
+  }
+
+  /**
+   * Stop sending, hand the shards back so other workers can take them over
+   * right away, deliver what is already queued and close the mail
+   * connections. The worker keeps its heartbeat until the queue has drained,
+   * so its reservations are not taken over while it is still sending them.
+   */
+  public void stop() {
+    synchronized (this) {
+      started = false;
+    }
+    draining = true;
+    synchronized (passLock) {
+      // Wait for a running pass to finish queueing
+    }
+    try {
+      DatabaseUtils.releaseShards(workerId, getOwnedShards());
+    } catch (SQLException e) {
+      LOGGER.log(Level.WARNING, "Could not release the shards of worker " + workerId, e);
+    }
+    synchronized (this) {
+      ownedShards.clear();
+    }
+    scanPool.shutdown();
+    // Undelivered reminders are dead-lettered, which releases them
+    dispatcher.shutdown(30, TimeUnit.SECONDS);
+
+    scheduler.shutdown();
+    try {
+      if (!scheduler.awaitTermination(60, TimeUnit.SECONDS)) {
+        scheduler.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      scheduler.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+    try {
+      DatabaseUtils.removeWorker(workerId);
+    } catch (SQLException e) {
+      LOGGER.log(Level.WARNING, "Could not remove worker " + workerId, e);
+    }
+    emailService.close();
+    LOGGER.info("Reminder worker " + workerId + " stopped");
+  }
+
+  /**
+   * Shards currently leased by this worker
+   */
+  public synchronized List<Integer> getOwnedShards() {
+    return new ArrayList<>(ownedShards);
+  }
+
+  /**
+   * Email dispatch metrics (queue depth, send latency, failure rate)
+   */
+  public EmailDispatcher.Stats getDispatchStats() {
+    return dispatcher.getStats();
+  }
+
+  /**
+   * Heartbeat, renew the leases held and rebalance towards an even share of
+   * the shards
+   */
+  private void maintainLeases() {
+    try {
+      long renewedAt = System.currentTimeMillis();
+      DatabaseUtils.heartbeatWorker(workerId);
+      if (draining) {
+        return;
+      }
+      List<Integer> renewed = DatabaseUtils.renewShardLeases(workerId, LEASE_MILLIS);
+
+      // A worker counts as alive until its leases could have run out
+      int liveWorkers = Math.max(1, DatabaseUtils.countLiveWorkers(LEASE_MILLIS));
+      int target = (SHARD_COUNT + liveWorkers - 1) / liveWorkers;
+
+      List<Integer> held = new ArrayList<>(renewed);
+      if (held.size() > target) {
+        Collections.sort(held);
+        List<Integer> surplus = new ArrayList<>(held.subList(target, held.size()));
+        DatabaseUtils.releaseShards(workerId, surplus);
+        held.removeAll(surplus);
+      } else if (held.size() < target) {
+        held.addAll(DatabaseUtils.claimShards(workerId, target - held.size(), LEASE_MILLIS));
+      }
+
+      synchronized (this) {
+        if (!ownedShards.equals(new TreeSet<>(held))) {
+          LOGGER.info("Worker " + workerId + " now owns " + held.size() + " of " + SHARD_COUNT + " shards");
+        }
+        ownedShards.clear();
+        ownedShards.addAll(held);
+      }
+      // Measured from before the renewal, so the local view never outlives
+      // the lease in the database
+      leaseExpiresAt = renewedAt + LEASE_MILLIS;
+    } catch (SQLException e) {
+      LOGGER.log(Level.WARNING, "Could not renew the shard leases of worker " + workerId, e);
+    } catch (RuntimeException e) {
+      LOGGER.log(Level.SEVERE, "Lease maintenance failed", e);
+    }
+  }
+
+  /**
+   * Scheduled pass; nothing may escape, or the scheduler would cancel all
+   * later passes
+   */
+  private void processShards() {
+    synchronized (passLock) {
+      if (draining) {
+        return;
+      }
+      try {
+        sendDueReminders();
+      } catch (RuntimeException e) {
+        LOGGER.log(Level.SEVERE, "Reminder pass failed", e);
+      }
+    }
+  }
+
+  /**
+   * Reserve and queue the reminders that have come due for users in the
+   * owned shards
+   */
+  private void sendDueReminders() {
+    List<Integer> shards = getOwnedShards();
+    if (shards.isEmpty()) {
+      return;
+    }
+
+    long now = System.currentTimeMillis();
+    int chunkSize = (shards.size() + scanPool.getParallelism() - 1) / scanPool.getParallelism();
+    List<Reminder> due = scanPool.invoke(new ScanTask(shards, chunkSize, now));
+
+    // Reminders this worker has queued already are reserved for it; skip
+    // them rather than queue them twice
+    Map<ReminderLedgerEntry, Reminder> candidates = new LinkedHashMap<>();
+    for (Reminder reminder : due) {
+      ReminderLedgerEntry entry = ledgerEntry(reminder);
+      if (!inFlight.contains(entry)) {
+        candidates.put(entry, reminder);
+      }
+    }
+    if (candidates.isEmpty()) {
+      return;
+    }
+    if (System.currentTimeMillis() >= leaseExpiresAt) {
+      LOGGER.warning("Shard leases of worker " + workerId + " expired during a pass; skipping it");
+      return;
+    }
+
+    Set<ReminderLedgerEntry> reserved;
+    try {
+      reserved = DatabaseUtils.reserveReminders(workerId, candidates.keySet(), LEASE_MILLIS);
+    } catch (SQLException e) {
+      LOGGER.log(Level.WARNING, "Could not reserve reminders in the ledger", e);
+      return;
+    }
+
+    int queued = 0;
+    for (Map.Entry<ReminderLedgerEntry, Reminder> candidate : candidates.entrySet()) {
+      if (!reserved.contains(candidate.getKey())) {
+        // Sent already, or being sent by another worker
+        continue;
+      }
+      inFlight.add(candidate.getKey());
+      // A rejected reminder is dead-lettered, which releases it
+      if (dispatcher.submit(candidate.getValue())) {
+        queued++;
+      }
+    }
+    if (queued > 0) {
+      LOGGER.info("Worker " + workerId + " queued " + queued + " reminders");
+    }
+  }
+
+  /**
+   * Read the due reminders of users in the given shards. A failure only
+   * drops this chunk of shards from the pass.
+   */
+  private List<Reminder> scanShards(List<Integer> shards, long now) {
+    List<Reminder> due = new ArrayList<>();
+    try (Stream<ReminderCandidate> candidates = DatabaseUtils.streamReminderCandidates(shards, SHARD_COUNT,
+        HORIZON_DAYS)) {
+      candidates.forEach(candidate -> {
+        User user = candidate.getUser();
+        Internship internship = candidate.getInternship();
+        long deadline = internship.getDeadline().getTime();
+        if (deadline <= now) {
+          return;
+        }
+        ReminderSchedule schedule = user.getReminderSchedule();
+        int window = schedule.latestWindow(deadline, now);
+        if (window < 0) {
+          return;
+        }
+        int windowMinutes = (int) TimeUnit.MILLISECONDS.toMinutes(schedule.getOffset(window));
+        due.add(new Reminder(user, internship, daysLeft(deadline, now), windowMinutes));
+      });
+    } catch (SQLException | RuntimeException e) {
+      LOGGER.log(Level.WARNING, "Could not read upcoming deadlines of shards " + shards, e);
+      return Collections.emptyList();
+    }
+    return due;
+  }
+
+  /**
+   * Splits the owned shards into chunks of at most {@code chunkSize} and
+   * scans them in parallel, each on its own connection. Shards hold disjoint
+   * users, so the chunks' results are simply concatenated.
+   */
+  private class ScanTask extends RecursiveTask<List<Reminder>> {
+    private static final long serialVersionUID = 1L;
+
+    private final List<Integer> shards;
+    private final int chunkSize;
+    private final long now;
+
+    ScanTask(List<Integer> shards, int chunkSize, long now) {
+      this.shards = shards;
+      this.chunkSize = chunkSize;
+      this.now = now;
+    }
+
+    @Override
+    protected List<Reminder> compute() {
+      if (shards.size() <= chunkSize) {
+        return scanShards(shards, now);
+      }
+      int middle = shards.size() / 2;
+      ScanTask left = new ScanTask(shards.subList(0, middle), chunkSize, now);
+      ScanTask right = new ScanTask(shards.subList(middle, shards.size()), chunkSize, now);
+      left.fork();
+      List<Reminder> due = new ArrayList<>(right.compute());
+      due.addAll(left.join());
+      return due;
+    }
+  }
+
+  /**
+   * Mark a delivered reminder as sent in the ledger; runs on the
+   * dispatcher's worker thread
+   */
+  private void recordSent(Reminder reminder) {
+    ReminderLedgerEntry entry = ledgerEntry(reminder);
+    try {
+      DatabaseUtils.recordReminderSent(entry);
+      inFlight.remove(entry);
+    } catch (SQLException e) {
+      // Leave it in flight, and reserved, so no worker sends it again while
+      // this one is alive
+      LOGGER.log(Level.WARNING, "Could not record sent reminder " + reminder, e);
+    }
+  }
+
+  /**
+   * Give up the reservation of a reminder that could not be delivered, so a
+   * later pass, of this worker or another, sends it again
+   */
+  private void release(Reminder reminder) {
+    ReminderLedgerEntry entry = ledgerEntry(reminder);
+    try {
+      DatabaseUtils.releaseReminder(workerId, entry);
+    } catch (SQLException e) {
+      // Still reserved for this worker, which may take it up again
+      LOGGER.log(Level.WARNING, "Could not release reminder " + reminder, e);
+    }
+    inFlight.remove(entry);
+  }
+
+  private static ReminderLedgerEntry ledgerEntry(Reminder reminder) {
+    return new ReminderLedgerEntry(reminder.getUser().getEmail(), reminder.getInternship().getId(),
+        reminder.getWindow());
+  }
+
+  private static int daysLeft(long deadline, long now) {
+    long remaining = deadline - now;
+    return (int) Math.max(1, (remaining + DAY_MILLIS - 1) / DAY_MILLIS);
+  }
+}
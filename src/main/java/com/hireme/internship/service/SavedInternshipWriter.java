@@ -0,0 +1,144 @@
+package com.hireme.internship.service;
+
+import com.hireme.internship.model.Internship;
+import com.hireme.internship.model.User;
+import com.hireme.internship.model.UserListener;
+import com.hireme.internship.utils.DatabaseUtils;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Write-behind persistence of one user's saved internships.
+ *
+ * Listens to the user's add, update and remove events and writes them to the
+ * saved_internships table in the background every
+ * {@code hireme.saved.flushMs}, so the UI never waits on the database.
+ * Pending changes are coalesced per internship, so only the latest change
+ * to each is written, in one batch per flush. Changes that fail
+ * to write are kept and retried on the next flush unless a newer change has
+ * replaced them.
+ */
+public class SavedInternshipWriter implements UserListener {
+  private static final Logger LOGGER = Logger.getLogger(SavedInternshipWriter.class.getName());
+
+  private static final long FLUSH_MILLIS = Long.getLong("hireme.saved.flushMs", 2000);
+
+  private final User user;
+  private final ScheduledExecutorService scheduler;
+
+  // Pending changes, guarded by this; an id is never in both
+  private Map<Long, Internship> pendingUpserts = new LinkedHashMap<>();
+  private Set<Long> pendingDeletes = new LinkedHashSet<>();
+
+  public SavedInternshipWriter(User user) {
+    this.user = user;
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, "hireme-saved-writer");
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.scheduleWithFixedDelay(this::flush, FLUSH_MILLIS, FLUSH_MILLIS, TimeUnit.MILLISECONDS);
+    user.addListener(this);
+  }
+
+  /**
+   * Forget pending writes of internships just loaded from the database; they
+   * are stored already
+   */
+  public synchronized void markPersisted(Collection<Internship> internships) {
+    for (Internship internship : internships) {
+      pendingUpserts.remove(internship.getId());
+    }
+  }
+
+  /**
+   * Stop listening and write out whatever is still pending
+   */
+  public void close() {
+    user.removeListener(this);
+    scheduler.shutdown();
+    try {
+      scheduler.awaitTermination(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    flush();
+  }
+
+  /**
+   * Write the pending changes. Runs on the writer thread, and once more on
+   * close.
+   */
+  void flush() {
+    Map<Long, Internship> upserts;
+    Set<Long> deletes;
+    synchronized (this) {
+      if (pendingUpserts.isEmpty() && pendingDeletes.isEmpty()) {
+        return;
+      }
+      upserts = pendingUpserts;
+      deletes = pendingDeletes;
+      pendingUpserts = new LinkedHashMap<>();
+      pendingDeletes = new LinkedHashSet<>();
+    }
+
+    try {
+      if (!upserts.isEmpty()) {
+        DatabaseUtils.upsertSavedInternships(user.getEmail(), new ArrayList<>(upserts.values()));
+        upserts.clear();
+      }
+      if (!deletes.isEmpty()) {
+        DatabaseUtils.deleteSavedInternships(user.getEmail(), deletes);
+        deletes.clear();
+      }
+    } catch (SQLException e) {
+      LOGGER.log(Level.WARNING, "Could not save internships of " + user.getEmail() + "; will retry", e);
+      requeue(upserts, deletes);
+    }
+  }
+
+  /**
+   * Put back changes that failed to write, unless the same internship has
+   * changed again in the meantime
+   */
+  private synchronized void requeue(Map<Long, Internship> upserts, Set<Long> deletes) {
+    for (Map.Entry<Long, Internship> entry : upserts.entrySet()) {
+      if (!pendingDeletes.contains(entry.getKey())) {
+        pendingUpserts.putIfAbsent(entry.getKey(), entry.getValue());
+      }
+    }
+    for (Long id : deletes) {
+      if (!pendingUpserts.containsKey(id)) {
+        pendingDeletes.add(id);
+      }
+    }
+  }
+
+  @Override
+  public synchronized void internshipAdded(Internship internship) {
+    pendingDeletes.remove(internship.getId());
+    pendingUpserts.put(internship.getId(), internship);
+  }
+
+  @Override
+  public synchronized void internshipRemoved(Internship internship) {
+    pendingUpserts.remove(internship.getId());
+    pendingDeletes.add(internship.getId());
+  }
+
+  @Override
+  public synchronized void internshipUpdated(Internship internship) {
+    internshipAdded(internship);
+  }
+}
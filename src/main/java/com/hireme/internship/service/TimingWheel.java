@@ -0,0 +1,190 @@
+package com.hireme.internship.service;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Hierarchical timing wheel over integer entry ids.
+ *
+ * Four levels of 64 buckets each cover 64, 64^2, 64^3 and 64^4 ticks. An
+ * entry goes into the coarsest level it fits in and is cascaded down one
+ * level each time the wheel below completes a revolution, so scheduling,
+ * cancelling and advancing by one tick are O(1) no matter how many entries
+ * are pending. Buckets are intrusive doubly linked lists kept in int arrays,
+ * so nothing is allocated per entry. Not thread-safe; callers synchronize.
+ */
+class TimingWheel {
+  private static final int WHEEL_BITS = 6;
+  private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+  private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+  private static final int LEVELS = 4;
+  private static final long SPAN = 1L << (WHEEL_BITS * LEVELS);
+  private static final int NONE = -1;
+
+  private final long tickMillis;
+  // Next tick to be processed
+  private long currentTick;
+
+  // Head of each bucket's list, level-major
+  private final int[] heads = new int[LEVELS * WHEEL_SIZE];
+
+  // Per-entry list links and state, indexed by entry id
+  private int[] next;
+  private int[] prev;
+  private int[] bucketOf;
+  private long[] expiryTicks;
+  private int size;
+
+  /**
+   * @param tickMillis Resolution of the wheel
+   * @param now        Current time in milliseconds
+   * @param capacity   Initial number of entry ids
+   */
+  TimingWheel(long tickMillis, long now, int capacity) {
+    this.tickMillis = tickMillis;
+    this.currentTick = now / tickMillis;
+    Arrays.fill(heads, NONE);
+    this.next = new int[capacity];
+    this.prev = new int[capacity];
+    this.bucketOf = new int[capacity];
+    this.expiryTicks = new long[capacity];
+    Arrays.fill(bucketOf, NONE);
+  }
+
+  /**
+   * Make room for entry ids below {@code capacity}
+   */
+  void ensureCapacity(int capacity) {
+    if (capacity <= next.length) {
+      return;
+    }
+    int oldCapacity = next.length;
+    next = Arrays.copyOf(next, capacity);
+    prev = Arrays.copyOf(prev, capacity);
+    expiryTicks = Arrays.copyOf(expiryTicks, capacity);
+    bucketOf = Arrays.copyOf(bucketOf, capacity);
+    Arrays.fill(bucketOf, oldCapacity, capacity, NONE);
+  }
+
+  /**
+   * Schedule (or reschedule) an entry. Times already in the past fire on the
+   * next {@link #advance}.
+   */
+  void schedule(int id, long fireAtMillis) {
+    if (bucketOf[id] != NONE) {
+      unlink(id);
+    } else {
+      size++;
+    }
+    // Round up so an entry never fires before its time
+    expiryTicks[id] = -Math.floorDiv(-fireAtMillis, tickMillis);
+    place(id);
+  }
+
+  void cancel(int id) {
+    if (bucketOf[id] != NONE) {
+      unlink(id);
+      size--;
+    }
+  }
+
+  boolean isScheduled(int id) {
+    return bucketOf[id] != NONE;
+  }
+
+  int size() {
+    return size;
+  }
+
+  /**
+   * Process every tick up to and including {@code now}, passing each expired
+   * entry to {@code expired}. The entry is no longer scheduled when the
+   * callback runs; the callback may schedule it again but must not cancel or
+   * reschedule other entries.
+   */
+  void advance(long now, IntConsumer expired) {
+    long targetTick = now / tickMillis;
+    while (currentTick <= targetTick) {
+      long tick = currentTick;
+      cascade(tick);
+
+      // Detach the bucket before running callbacks so entries they
+      // schedule land in later ticks
+      int bucket = (int) (tick & WHEEL_MASK);
+      int id = heads[bucket];
+      heads[bucket] = NONE;
+      currentTick = tick + 1;
+
+      while (id != NONE) {
+        int following = next[id];
+        bucketOf[id] = NONE;
+        if (expiryTicks[id] <= tick) {
+          size--;
+          expired.accept(id);
+        } else {
+          place(id);
+        }
+        id = following;
+      }
+    }
+  }
+
+  /**
+   * When a level wraps around, redistribute the matching bucket of the level
+   * above into finer buckets
+   */
+  private void cascade(long tick) {
+    for (int level = 1; level < LEVELS; level++) {
+      if ((tick & ((1L << (WHEEL_BITS * level)) - 1)) != 0) {
+        return;
+      }
+      int bucket = level * WHEEL_SIZE + (int) ((tick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+      int id = heads[bucket];
+      heads[bucket] = NONE;
+      while (id != NONE) {
+        int following = next[id];
+        bucketOf[id] = NONE;
+        place(id);
+        id = following;
+      }
+    }
+  }
+
+  private void place(int id) {
+    long expiry = Math.max(expiryTicks[id], currentTick);
+    long delta = expiry - currentTick;
+    if (delta >= SPAN) {
+      // Beyond the wheel's horizon: park in the farthest bucket and
+      // re-place when it cascades
+      expiry = currentTick + SPAN - 1;
+      delta = SPAN - 1;
+    }
+    int level = 0;
+    while (level < LEVELS - 1 && delta >= (1L << (WHEEL_BITS * (level + 1)))) {
+      level++;
+    }
+    int bucket = level * WHEEL_SIZE + (int) ((expiry >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+
+    int head = heads[bucket];
+    next[id] = head;
+    prev[id] = NONE;
+    if (head != NONE) {
+      prev[head] = id;
+    }
+    heads[bucket] = id;
+    bucketOf[id] = bucket;
+  }
+
+  private void unlink(int id) {
+    int bucket = bucketOf[id];
+    if (prev[id] != NONE) {
+      next[prev[id]] = next[id];
+    } else {
+      heads[bucket] = next[id];
+    }
+    if (next[id] != NONE) {
+      prev[next[id]] = prev[id];
+    }
+    bucketOf[id] = NONE;
+  }
+}
@@ -2,12 +2,26 @@ package com.hireme.internship.service;
 
 import com.hireme.internship.model.User;
 import com.hireme.internship.utils.DatabaseUtils;
+import com.hireme.internship.utils.LruCache;
+import com.hireme.internship.utils.PasswordHasher;
+import com.hireme.internship.utils.UserCredentials;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -17,21 +31,59 @@ import java.util.logging.Logger;
 public class UserManager {
   private static final Logger LOGGER = Logger.getLogger(UserManager.class.getName());
 
-  // In-memory store for demo purposes
-  private static final Map<String, User> usersByEmail = new HashMap<>();
-  private static final Map<String, String> userPasswords = new HashMap<>();
+  private static final int USER_CACHE_SIZE = Integer.getInteger("hireme.users.cacheSize", 10_000);
+  private static final long USER_CACHE_TTL_MS = Long.getLong("hireme.users.cacheTtlMs", 600_000);
+  // Recently active users preloaded in the background; 0 disables warm-up
+  private static final int WARM_UP_COUNT = Integer.getInteger("hireme.users.warmUpCount", 100);
+  // Password hashing is CPU-bound: run it on at most one thread per core and
+  // turn logins away once this many are waiting
+  private static final int AUTH_THREADS = Integer.getInteger("hireme.auth.threads",
+      Runtime.getRuntime().availableProcessors());
+  private static final int AUTH_QUEUE_CAPACITY = Integer.getInteger("hireme.auth.queueCapacity", 64);
+  private static final int UNKNOWN_EMAIL_CACHE_SIZE = Integer.getInteger("hireme.auth.unknownEmailCacheSize", 10_000);
+  private static final long UNKNOWN_EMAIL_TTL_MS = Long.getLong("hireme.auth.unknownEmailTtlMs", 60_000);
+
+  // Bounded cache of user records in front of the users table. The UI and
+  // the reminder service hold on to the cached instances, so a reload after
+  // the TTL updates them in place instead of replacing them.
+  private final LruCache<String, User> userCache = new LruCache<>(USER_CACHE_SIZE, USER_CACHE_TTL_MS,
+      UserManager::refreshUser);
+  // Emails that recently failed to log in because no such user exists, so
+  // repeated attempts (e.g. credential stuffing) don't reach the database
+  private final LruCache<String, Boolean> unknownEmails = new LruCache<>(UNKNOWN_EMAIL_CACHE_SIZE,
+      UNKNOWN_EMAIL_TTL_MS);
+
+  // Users registered while the database was unreachable (demo fallback)
+  private final Map<String, User> offlineUsers = new ConcurrentHashMap<>();
+  private final Map<String, String> offlinePasswordHashes = new ConcurrentHashMap<>();
+
+  // Background work that must not delay the login window (warm-up, login
+  // bookkeeping)
+  private final ExecutorService backgroundExecutor = Executors.newSingleThreadExecutor(r -> {
+    Thread thread = new Thread(r, "hireme-user-background");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private final ExecutorService passwordExecutor;
 
   private static User currentUser;
   private static UserManager instance;
 
   private UserManager() {
+    AtomicInteger counter = new AtomicInteger();
+    this.passwordExecutor = new ThreadPoolExecutor(AUTH_THREADS, AUTH_THREADS, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(AUTH_QUEUE_CAPACITY), r -> {
+          Thread thread = new Thread(r, "hireme-password-" + counter.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+
     initializeDatabase();
 
     // Add demo users for testing if none exist
-    if (getAllUsers().isEmpty()) {
-      registerUser("John Doe", "john@example.com", "password1");
-      registerUser("Jane Smith", "jane@example.com", "password2");
-      registerUser("Bob Johnson", "bob@example.com", "password3");
+    if (!hasUsers()) {
+      registerDemoUsers();
     }
   }
 
@@ -46,12 +98,15 @@ public class UserManager {
   }
 
   /**
-   * Initialize the users table in database
+   * Initialize the users table in database. Users are loaded on demand, so
+   * startup does not depend on the size of the table.
    */
   private void initializeDatabase() {
     try {
       DatabaseUtils.createUsersTable();
-      loadUsersFromDatabase();
+      if (WARM_UP_COUNT > 0) {
+        backgroundExecutor.execute(this::warmUpCache);
+      }
     } catch (SQLException e) {
       LOGGER.log(Level.SEVERE, "Failed to initialize user database", e);
       // Create demo users in memory as fallback
@@ -59,34 +114,88 @@ public class UserManager {
   }
 
   /**
-   * Load users from database
+   * Preload the most recently active users into the cache
    */
-  private void loadUsersFromDatabase() {
+  private void warmUpCache() {
     try {
-      List<User> users = DatabaseUtils.getAllUsers();
-      for (User user : users) {
-        usersByEmail.put(user.getEmail(), user);
+      for (User user : DatabaseUtils.getRecentlyActiveUsers(WARM_UP_COUNT)) {
+        if (userCache.getIfPresent(user.getEmail()) == null) {
+          userCache.put(user.getEmail(), user);
+        }
       }
     } catch (SQLException e) {
-      LOGGER.log(Level.SEVERE, "Failed to load users from database", e);
+      LOGGER.log(Level.WARNING, "Failed to warm up user cache", e);
+    }
+  }
+
+  /**
+   * Whether any user is registered, in the database or in memory
+   */
+  private boolean hasUsers() {
+    if (!offlineUsers.isEmpty()) {
+      return true;
+    }
+    try {
+      return DatabaseUtils.hasUsers();
+    } catch (SQLException e) {
+      LOGGER.log(Level.WARNING, "Failed to check for existing users", e);
+      return false;
+    }
+  }
+
+  /**
+   * Register the demo accounts. Their hashes are computed side by side on
+   * the password executor, so setup costs about one hash instead of three.
+   */
+  private void registerDemoUsers() {
+    String[][] demoUsers = {
+        { "John Doe", "john@example.com", "password1" },
+        { "Jane Smith", "jane@example.com", "password2" },
+        { "Bob Johnson", "bob@example.com", "password3" } };
+    List<Future<String>> hashes = new ArrayList<>();
+    for (String[] demoUser : demoUsers) {
+      String password = demoUser[2];
+      try {
+        hashes.add(passwordExecutor.submit(() -> PasswordHasher.hash(password)));
+      } catch (RejectedExecutionException e) {
+        // Queue configured smaller than the demo set
+        hashes.add(CompletableFuture.completedFuture(PasswordHasher.hash(password)));
+      }
+    }
+    for (int i = 0; i < demoUsers.length; i++) {
+      String passwordHash = await(hashes.get(i));
+      if (passwordHash != null) {
+        saveNewUser(new User(demoUsers[i][0], demoUsers[i][1]), passwordHash);
+      }
     }
   }
 
   /**
    * Register a new user
+   *
+   * @throws AuthBusyException if too many logins are in progress to hash
+   *                           the password now
    */
   public boolean registerUser(String name, String email, String password) {
-    if (usersByEmail.containsKey(email)) {
+    if (getUserByEmail(email) != null) {
       return false; // User already exists
     }
 
-    User newUser = new User(name, email);
+    String passwordHash = onPasswordExecutor(() -> PasswordHasher.hash(password));
+    if (passwordHash == null) {
+      return false;
+    }
+    return saveNewUser(new User(name, email), passwordHash);
+  }
 
+  private boolean saveNewUser(User newUser, String passwordHash) {
+    String email = newUser.getEmail();
     try {
-      boolean success = DatabaseUtils.saveUser(newUser, password);
+      boolean success = DatabaseUtils.saveUser(newUser, passwordHash);
       if (success) {
-        usersByEmail.put(email, newUser);
-        userPasswords.put(email, password); // For in-memory authentication
+        unknownEmails.invalidate(email);
+        // Write-through so the first login is served from the cache
+        userCache.put(email, newUser);
         return true;
       }
       return false;
@@ -94,32 +203,122 @@ public class UserManager {
       LOGGER.log(Level.SEVERE, "Error registering user in database", e);
 
       // Fallback to in-memory registration
-      usersByEmail.put(email, newUser);
-      userPasswords.put(email, password);
+      offlineUsers.put(email, newUser);
+      offlinePasswordHashes.put(email, passwordHash);
       return true;
     }
   }
 
   /**
-   * Authenticate a user
+   * Authenticate a user with a single read of the user's record and
+   * password hash. Passwords stored with a lower cost than the current one
+   * (or in plain text) are rehashed in the background after a successful
+   * login.
+   *
+   * @throws AuthBusyException if too many logins are in progress to check
+   *                           the password now
    */
   public User authenticate(String email, String password) {
+    if (unknownEmails.getIfPresent(email) != null) {
+      return null;
+    }
+
+    UserCredentials credentials;
     try {
-      if (DatabaseUtils.validateUserCredentials(email, password)) {
-        currentUser = usersByEmail.get(email);
-        return currentUser;
-      }
+      credentials = DatabaseUtils.getUserCredentials(email);
     } catch (SQLException e) {
       LOGGER.log(Level.WARNING, "Database authentication failed, trying in-memory", e);
 
       // Fallback to in-memory authentication
-      if (usersByEmail.containsKey(email) && userPasswords.getOrDefault(email, "").equals(password)) {
-        currentUser = usersByEmail.get(email);
+      if (offlineUsers.containsKey(email) && verifyPassword(password, offlinePasswordHashes.get(email))) {
+        currentUser = offlineUsers.get(email);
         return currentUser;
       }
+      return null;
+    }
+
+    if (credentials == null) {
+      unknownEmails.put(email, Boolean.TRUE);
+      return null;
+    }
+    String storedHash = credentials.getPasswordHash();
+    if (!verifyPassword(password, storedHash)) {
+      return null;
     }
+    if (PasswordHasher.needsRehash(storedHash)) {
+      rehashPassword(email, password, storedHash);
+    }
+
+    // Keep the cached instance if there is one, since the UI and the
+    // reminder service may already hold it; an expired one is refreshed
+    // from the record just read
+    currentUser = userCache.get(email, key -> credentials.getUser());
+    backgroundExecutor.execute(() -> recordLogin(email));
+    return currentUser;
+  }
 
-    return null;
+  private boolean verifyPassword(String password, String storedHash) {
+    return Boolean.TRUE.equals(onPasswordExecutor(() -> PasswordHasher.verify(password, storedHash)));
+  }
+
+  /**
+   * Replace the stored hash with one at the current cost, without delaying
+   * the login. The hash is computed on the password executor and written
+   * from the background executor, so no hashing thread waits on the
+   * database. Skipped when the password executor is busy; the next login
+   * retries.
+   */
+  private void rehashPassword(String email, String password, String oldHash) {
+    try {
+      CompletableFuture.supplyAsync(() -> PasswordHasher.hash(password), passwordExecutor)
+          .thenAcceptAsync(newHash -> {
+            try {
+              DatabaseUtils.updatePasswordHash(email, oldHash, newHash);
+            } catch (SQLException e) {
+              LOGGER.log(Level.FINE, "Failed to upgrade password hash for " + email, e);
+            }
+          }, backgroundExecutor);
+    } catch (RejectedExecutionException e) {
+      LOGGER.fine("Password executor busy; not upgrading the hash of " + email);
+    }
+  }
+
+  /**
+   * Run hashing work on the bounded password executor and wait for it
+   *
+   * @return The result, or null if hashing failed or the wait was
+   *         interrupted
+   * @throws AuthBusyException if the executor is saturated
+   */
+  private <T> T onPasswordExecutor(Callable<T> task) {
+    Future<T> future;
+    try {
+      future = passwordExecutor.submit(task);
+    } catch (RejectedExecutionException e) {
+      LOGGER.warning("Too many logins in progress; rejecting request");
+      throw new AuthBusyException();
+    }
+    return await(future);
+  }
+
+  private static <T> T await(Future<T> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    } catch (ExecutionException e) {
+      LOGGER.log(Level.SEVERE, "Password hashing failed", e.getCause());
+      return null;
+    }
+  }
+
+  private void recordLogin(String email) {
+    try {
+      DatabaseUtils.recordLogin(email);
+    } catch (SQLException e) {
+      LOGGER.log(Level.FINE, "Failed to record login for " + email, e);
+    }
   }
 
   /**
@@ -137,17 +336,52 @@ public class UserManager {
   }
 
   /**
-   * Get all users in the system
+   * Get all users currently held in memory
    */
   public List<User> getAllUsers() {
-    return new ArrayList<>(usersByEmail.values());
+    List<User> users = new ArrayList<>(userCache.values());
+    users.addAll(offlineUsers.values());
+    return users;
   }
 
   /**
-   * Get a user by email
+   * Get a user by email, from the cache when possible
    */
   public User getUserByEmail(String email) {
-    return usersByEmail.get(email);
+    User offline = offlineUsers.get(email);
+    if (offline != null) {
+      return offline;
+    }
+    try {
+      return userCache.get(email, DatabaseUtils::getUserByEmail);
+    } catch (SQLException e) {
+      LOGGER.log(Level.WARNING, "Failed to load user " + email, e);
+      return null;
+    }
+  }
+
+  /**
+   * Copy the stored fields of a reloaded user into the instance already in
+   * use, keeping its internships, groups and listeners
+   */
+  private static User refreshUser(User cached, User loaded) {
+    cached.setName(loaded.getName());
+    cached.setReminderSchedule(loaded.getReminderSchedule());
+    return cached;
+  }
+
+  /**
+   * Drop a user from the cache so the next lookup reloads it
+   */
+  public void invalidateUser(String email) {
+    userCache.invalidate(email);
+  }
+
+  /**
+   * User cache hit/miss counters
+   */
+  public LruCache.Stats getCacheStats() {
+    return userCache.getStats();
   }
 
   /**
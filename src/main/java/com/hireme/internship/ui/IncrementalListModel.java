@@ -0,0 +1,201 @@
+package com.hireme.internship.ui;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Keeps a {@link java.awt.List} in step with an ordered list of items by
+ * applying add, remove and update deltas, instead of clearing and re-adding
+ * every row on each change.
+ *
+ * Each item's display string is formatted once when it is added (or
+ * updated) and cached alongside the item. Must only be used on the AWT event
+ * thread.
+ *
+ * @param <T> Item type
+ */
+final class IncrementalListModel<T> {
+  private final java.awt.List view;
+  private final Function<T, String> formatter;
+  private final List<T> items = new ArrayList<>();
+  // Display strings, index-aligned with items
+  private final List<String> labels = new ArrayList<>();
+
+  // Row shown while the model is empty, if any
+  private String placeholder;
+  private boolean placeholderShown;
+
+  IncrementalListModel(java.awt.List view, Function<T, String> formatter) {
+    this.view = view;
+    this.formatter = formatter;
+  }
+
+  /**
+   * Text shown as the only row while the model is empty; null for none
+   */
+  void setPlaceholder(String placeholder) {
+    if (Objects.equals(placeholder, this.placeholder)) {
+      return;
+    }
+    this.placeholder = placeholder;
+    if (items.isEmpty()) {
+      view.removeAll();
+      placeholderShown = false;
+      showPlaceholderIfEmpty();
+    }
+  }
+
+  void add(T item) {
+    hidePlaceholder();
+    String label = formatter.apply(item);
+    items.add(item);
+    labels.add(label);
+    view.add(label);
+  }
+
+  void addAll(Collection<? extends T> newItems) {
+    if (newItems.isEmpty()) {
+      showPlaceholderIfEmpty();
+      return;
+    }
+    for (T item : newItems) {
+      add(item);
+    }
+  }
+
+  /**
+   * Remove the first row showing {@code item}
+   *
+   * @return Whether a row was removed
+   */
+  boolean remove(T item) {
+    int index = items.indexOf(item);
+    if (index < 0) {
+      return false;
+    }
+    items.remove(index);
+    labels.remove(index);
+    view.remove(index);
+    showPlaceholderIfEmpty();
+    return true;
+  }
+
+  /**
+   * Re-format the rows showing {@code item} after it has changed
+   */
+  void update(T item) {
+    String label = null;
+    for (int i = 0; i < items.size(); i++) {
+      if (items.get(i).equals(item)) {
+        if (label == null) {
+          label = formatter.apply(item);
+        }
+        if (!label.equals(labels.get(i))) {
+          labels.set(i, label);
+          view.replaceItem(label, i);
+        }
+      }
+    }
+  }
+
+  /**
+   * Show exactly {@code target}, in its order, by removing the rows that
+   * are not in it and inserting the ones that are missing. Rows kept are
+   * not touched, so narrowing or widening a filter costs only the rows that
+   * change. Falls back to rebuilding the list if the kept rows are not in
+   * the target's order.
+   */
+  void replaceAll(List<? extends T> target) {
+    Set<T> wanted = new HashSet<>(target);
+    for (int i = items.size() - 1; i >= 0; i--) {
+      if (!wanted.contains(items.get(i))) {
+        items.remove(i);
+        labels.remove(i);
+        view.remove(i);
+      }
+    }
+
+    Set<T> kept = new HashSet<>(items);
+    int next = 0;
+    for (T item : target) {
+      if (kept.contains(item) && !items.get(next++).equals(item)) {
+        clear();
+        addAll(target);
+        return;
+      }
+    }
+
+    if (!target.isEmpty()) {
+      hidePlaceholder();
+    }
+    int index = 0;
+    for (T item : target) {
+      if (index < items.size() && items.get(index).equals(item)) {
+        index++;
+        continue;
+      }
+      String label = formatter.apply(item);
+      items.add(index, item);
+      labels.add(index, label);
+      view.add(label, index);
+      index++;
+    }
+    showPlaceholderIfEmpty();
+  }
+
+  void clear() {
+    items.clear();
+    labels.clear();
+    view.removeAll();
+    placeholderShown = false;
+    showPlaceholderIfEmpty();
+  }
+
+  boolean contains(T item) {
+    return items.contains(item);
+  }
+
+  int size() {
+    return items.size();
+  }
+
+  T get(int index) {
+    return items.get(index);
+  }
+
+  /**
+   * @return The selected item, or null if nothing (or the placeholder) is
+   *         selected
+   */
+  T getSelected() {
+    int index = view.getSelectedIndex();
+    if (placeholderShown || index < 0 || index >= items.size()) {
+      return null;
+    }
+    return items.get(index);
+  }
+
+  List<T> getItems() {
+    return Collections.unmodifiableList(items);
+  }
+
+  private void hidePlaceholder() {
+    if (placeholderShown) {
+      view.removeAll();
+      placeholderShown = false;
+    }
+  }
+
+  private void showPlaceholderIfEmpty() {
+    if (items.isEmpty() && placeholder != null && !placeholderShown) {
+      view.add(placeholder);
+      placeholderShown = true;
+    }
+  }
+}
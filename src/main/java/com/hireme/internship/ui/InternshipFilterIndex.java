@@ -0,0 +1,248 @@
+package com.hireme.internship.ui;
+
+import com.hireme.internship.model.Internship;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * In-memory inverted index over the words of internships' company, position
+ * and description, for type-ahead filtering without a database round trip.
+ *
+ * Each internship gets a document number in the order it was added, and
+ * every word maps to a sorted int array of the documents containing it.
+ * Words are kept in a sorted map, so the partially typed word of a query is
+ * a range of words; a query is answered by OR-ing the postings of each
+ * range into a bit set and AND-ing the sets of all words. Adds, removes and
+ * updates touch only the postings of the internship's own words. Not
+ * thread-safe; used on the AWT event thread.
+ */
+final class InternshipFilterIndex {
+  private static final int INITIAL_CAPACITY = 64;
+
+  private final NavigableMap<String, Postings> postings = new TreeMap<>();
+  private final Map<Internship, Integer> docIds = new HashMap<>();
+  // Indexed by document number; null for removed documents
+  private Internship[] docs = new Internship[INITIAL_CAPACITY];
+  private String[][] docWords = new String[INITIAL_CAPACITY][];
+  private int nextDoc;
+
+  void add(Internship internship) {
+    if (docIds.containsKey(internship)) {
+      return;
+    }
+    if (nextDoc == docs.length) {
+      makeRoom();
+    }
+    int doc = nextDoc++;
+    String[] words = words(internship);
+    docs[doc] = internship;
+    docWords[doc] = words;
+    docIds.put(internship, doc);
+    for (String word : words) {
+      postings.computeIfAbsent(word, w -> new Postings()).add(doc);
+    }
+  }
+
+  void remove(Internship internship) {
+    Integer doc = docIds.remove(internship);
+    if (doc == null) {
+      return;
+    }
+    removePostings(doc);
+    docs[doc] = null;
+    docWords[doc] = null;
+  }
+
+  /**
+   * Re-index an internship whose details have changed, keeping its place in
+   * the result order
+   */
+  void update(Internship internship) {
+    Integer doc = docIds.get(internship);
+    if (doc == null) {
+      add(internship);
+      return;
+    }
+    removePostings(doc);
+    String[] words = words(internship);
+    docs[doc] = internship;
+    docWords[doc] = words;
+    for (String word : words) {
+      postings.computeIfAbsent(word, w -> new Postings()).add(doc);
+    }
+  }
+
+  private void removePostings(int doc) {
+    for (String word : docWords[doc]) {
+      Postings list = postings.get(word);
+      list.remove(doc);
+      if (list.size == 0) {
+        postings.remove(word);
+      }
+    }
+  }
+
+  void clear() {
+    postings.clear();
+    docIds.clear();
+    Arrays.fill(docs, 0, nextDoc, null);
+    Arrays.fill(docWords, 0, nextDoc, null);
+    nextDoc = 0;
+  }
+
+  int size() {
+    return docIds.size();
+  }
+
+  /**
+   * @return Internships containing every word of the query, each as a
+   *         prefix of one of their words, in the order they were added. A
+   *         query without words matches everything.
+   */
+  List<Internship> search(String query) {
+    String[] terms = tokenize(query);
+    BitSet matches = null;
+    for (String term : terms) {
+      BitSet termMatches = new BitSet(nextDoc);
+      for (Postings list : postings.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+        for (int i = 0; i < list.size; i++) {
+          termMatches.set(list.docs[i]);
+        }
+      }
+      if (matches == null) {
+        matches = termMatches;
+      } else {
+        matches.and(termMatches);
+      }
+      if (matches.isEmpty()) {
+        return new ArrayList<>();
+      }
+    }
+
+    List<Internship> result = new ArrayList<>(matches == null ? docIds.size() : matches.cardinality());
+    if (matches == null) {
+      for (int doc = 0; doc < nextDoc; doc++) {
+        if (docs[doc] != null) {
+          result.add(docs[doc]);
+        }
+      }
+    } else {
+      for (int doc = matches.nextSetBit(0); doc >= 0; doc = matches.nextSetBit(doc + 1)) {
+        result.add(docs[doc]);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Whether a single internship matches the query, by the same rules as
+   * {@link #search(String)}; it does not need to be in the index
+   */
+  static boolean matches(Internship internship, String query) {
+    String[] words = words(internship);
+    for (String term : tokenize(query)) {
+      boolean found = false;
+      for (String word : words) {
+        if (word.startsWith(term)) {
+          found = true;
+          break;
+        }
+      }
+      if (!found) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Grow the document arrays, or renumber the live documents if removals
+   * have left most numbers unused
+   */
+  private void makeRoom() {
+    if (docIds.size() * 2 > docs.length) {
+      docs = Arrays.copyOf(docs, docs.length * 2);
+      docWords = Arrays.copyOf(docWords, docWords.length * 2);
+      return;
+    }
+    Internship[] live = new Internship[docIds.size()];
+    int count = 0;
+    for (int doc = 0; doc < nextDoc; doc++) {
+      if (docs[doc] != null) {
+        live[count++] = docs[doc];
+      }
+    }
+    clear();
+    for (Internship internship : live) {
+      add(internship);
+    }
+  }
+
+  private static String[] words(Internship internship) {
+    Set<String> words = new LinkedHashSet<>();
+    for (String field : new String[] { internship.getCompany(), internship.getPosition(),
+        internship.getDescription() }) {
+      if (field != null) {
+        words.addAll(Arrays.asList(tokenize(field)));
+      }
+    }
+    return words.toArray(new String[0]);
+  }
+
+  private static String[] tokenize(String text) {
+    String[] tokens = text.toLowerCase().split("[^\\p{L}\\p{N}]+");
+    int count = 0;
+    for (String token : tokens) {
+      if (!token.isEmpty()) {
+        tokens[count++] = token;
+      }
+    }
+    return Arrays.copyOf(tokens, count);
+  }
+
+  /**
+   * Sorted, growable array of document numbers
+   */
+  private static final class Postings {
+    private int[] docs = new int[4];
+    private int size;
+
+    /**
+     * Add a document; O(1) for a new document, which is numbered higher
+     * than any already present
+     */
+    void add(int doc) {
+      int index = size;
+      if (size > 0 && docs[size - 1] >= doc) {
+        index = Arrays.binarySearch(docs, 0, size, doc);
+        if (index >= 0) {
+          return;
+        }
+        index = -index - 1;
+      }
+      if (size == docs.length) {
+        docs = Arrays.copyOf(docs, size * 2);
+      }
+      System.arraycopy(docs, index, docs, index + 1, size - index);
+      docs[index] = doc;
+      size++;
+    }
+
+    void remove(int doc) {
+      int index = Arrays.binarySearch(docs, 0, size, doc);
+      if (index >= 0) {
+        System.arraycopy(docs, index + 1, docs, index, size - index - 1);
+        size--;
+      }
+    }
+  }
+}
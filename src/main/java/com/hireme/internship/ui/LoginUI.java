@@ -1,8 +1,9 @@
 package com.hireme.internship.ui;
 
 import com.hireme.internship.model.User;
+import com.hireme.internship.service.AuthBusyException;
+import com.hireme.internship.service.AsyncDataService;
 import com.hireme.internship.service.ReminderService;
-import com.hireme.internship.service.UserManager;
 
 import java.awt.*;
 import java.awt.event.*;
@@ -25,12 +26,15 @@ public class LoginUI extends Frame {
   private TextField emailField;
   private TextField passwordField;
   private Label messageLabel;
-  private UserManager userManager;
+  private Button loginButton;
+  private AsyncDataService asyncDataService;
   private ReminderService reminderService;
 
   public LoginUI(ReminderService reminderService) {
     this.reminderService = reminderService;
-    this.userManager = UserManager.getInstance();
+    this.asyncDataService = AsyncDataService.getInstance();
+    // Prepare the user store in the background so the window shows at once
+    asyncDataService.initializeUserManager();
 
     setTitle("HireME Login");
     setSize(400, 350);
@@ -96,7 +100,7 @@ public class LoginUI extends Frame {
     buttonPanel.setLayout(new FlowLayout(FlowLayout.CENTER, 10, 0));
     buttonPanel.setBackground(BACKGROUND_COLOR);
 
-    Button loginButton = new Button("Login");
+    loginButton = new Button("Login");
     loginButton.setPreferredSize(new Dimension(100, 30));
     loginButton.setBackground(SECONDARY_COLOR);
     loginButton.setForeground(Color.WHITE);
@@ -138,21 +142,37 @@ public class LoginUI extends Frame {
       return;
     }
 
-    User authenticatedUser = userManager.authenticate(email, password);
-
-    if (authenticatedUser != null) {
-      // Authentication successful
-      reminderService.registerUser(authenticatedUser);
-      reminderService.start();
+    // Authenticate off the event thread so the window stays responsive
+    setBusy(true);
+    messageLabel.setText("Signing in...");
+    UiTask.onEdt(asyncDataService.authenticate(email, password), authenticatedUser -> {
+      setBusy(false);
+      if (authenticatedUser != null) {
+        // Authentication successful
+        reminderService.registerUser(authenticatedUser);
+        reminderService.start();
+
+        // Launch main application UI
+        dispose();
+        MainFrame mainFrame = new MainFrame(authenticatedUser, reminderService);
+        mainFrame.setVisible(true);
+      } else {
+        // Authentication failed
+        messageLabel.setText("Invalid email or password");
+      }
+    }, error -> {
+      setBusy(false);
+      if (error instanceof AuthBusyException) {
+        messageLabel.setText("Server busy, please try again");
+      } else {
+        messageLabel.setText("Login failed: " + error.getMessage());
+      }
+    });
+  }
 
-      // Launch main application UI
-      dispose();
-      MainFrame mainFrame = new MainFrame(authenticatedUser, reminderService);
-      mainFrame.setVisible(true);
-    } else {
-      // Authentication failed
-      messageLabel.setText("Invalid email or password");
-    }
+  private void setBusy(boolean busy) {
+    loginButton.setEnabled(!busy);
+    setCursor(Cursor.getPredefinedCursor(busy ? Cursor.WAIT_CURSOR : Cursor.DEFAULT_CURSOR));
   }
 
   private void showRegisterDialog() {
@@ -194,14 +214,24 @@ public class LoginUI extends Frame {
         return;
       }
 
-      boolean success = userManager.registerUser(name, email, password);
-
-      if (success) {
-        registerDialog.dispose();
-        this.messageLabel.setText("Registration successful! Please login.");
-      } else {
-        messageLabel.setText("Registration failed. Email already exists.");
-      }
+      registerButton.setEnabled(false);
+      messageLabel.setText("Registering...");
+      UiTask.onEdt(asyncDataService.registerUser(name, email, password), success -> {
+        registerButton.setEnabled(true);
+        if (success) {
+          registerDialog.dispose();
+          this.messageLabel.setText("Registration successful! Please login.");
+        } else {
+          messageLabel.setText("Registration failed. Email already exists.");
+        }
+      }, error -> {
+        registerButton.setEnabled(true);
+        if (error instanceof AuthBusyException) {
+          messageLabel.setText("Server busy, please try again");
+        } else {
+          messageLabel.setText("Registration failed: " + error.getMessage());
+        }
+      });
     });
 
     cancelButton.addActionListener(e -> registerDialog.dispose());
@@ -2,19 +2,35 @@ package com.hireme.internship.ui;
 
 import com.hireme.internship.model.Group;
 import com.hireme.internship.model.Internship;
+import com.hireme.internship.model.ReminderSchedule;
 import com.hireme.internship.model.User;
+import com.hireme.internship.model.UserListener;
+import com.hireme.internship.service.AsyncDataService;
 import com.hireme.internship.service.ReminderService;
-import com.hireme.internship.utils.DatabaseUtils;
+import com.hireme.internship.service.SavedInternshipWriter;
+import com.hireme.internship.utils.InternshipSearchPage;
+import com.hireme.internship.utils.InternshipShare;
+import com.hireme.internship.utils.SharedInternshipPage;
 
 import java.awt.*;
 import java.awt.event.*;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
 import java.util.Date;
 import java.util.ArrayList;
-import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public class MainFrame extends Frame {
+  private static final int SHARED_PAGE_SIZE = Integer.getInteger("hireme.ui.sharedPageSize", 50);
+  // Load the next page once the selection gets this close to the end
+  private static final int SHARED_PREFETCH_ROWS = 5;
+  private static final String NO_SHARED_INTERNSHIPS = "No shared internships found";
+  private static final String NO_SEARCH_RESULTS = "No shared internships match your search";
+  // Internships listed by the "Next Deadlines" views
+  private static final int UPCOMING_DEADLINES = 10;
+
   private final ReminderService reminderService;
   private final User currentUser;
 
@@ -28,6 +44,33 @@ public class MainFrame extends Frame {
   private java.awt.List groupList;
   private java.awt.List sharedInternshipsList;
 
+  // Rows of the lists above; each applies changes incrementally
+  private IncrementalListModel<Internship> savedModel;
+  // Word index of all saved internships; the list shows those matching
+  // savedFilter
+  private final InternshipFilterIndex savedIndex = new InternshipFilterIndex();
+  private String savedFilter = "";
+  // Show only saved internships due in the next seven days, soonest first
+  private boolean savedDueThisWeek;
+  private IncrementalListModel<Group> groupModel;
+  private IncrementalListModel<Internship> sharedModel;
+  private final UserListener userListener = new ModelUpdater();
+  private final SavedInternshipWriter savedWriter;
+
+  private SharedInternshipPage.Cursor sharedCursor;
+  private TextField sharedSearchField;
+  // Search text of the results shown, or null for the whole feed
+  private String sharedSearch;
+  private InternshipSearchPage.Cursor searchCursor;
+  private boolean sharedHasMore;
+  private Button loadMoreButton;
+  // In-flight page request for the shared feed, cancelled on refresh
+  private CompletableFuture<?> sharedLoad;
+
+  private final AsyncDataService asyncDataService = AsyncDataService.getInstance();
+  private Label statusLabel;
+  private int pendingTasks;
+
   private final Color PRIMARY_COLOR = new Color(41, 128, 185); // Blue
   private final Color SECONDARY_COLOR = new Color(52, 152, 219); // Light Blue
   private final Color BACKGROUND_COLOR = new Color(236, 240, 241); // Light Gray
@@ -43,6 +86,7 @@ public class MainFrame extends Frame {
   public MainFrame(User user, ReminderService reminderService) {
     this.currentUser = user;
     this.reminderService = reminderService;
+    this.savedWriter = new SavedInternshipWriter(user);
 
     setTitle("HireME Internship Reminder");
     setSize(900, 650);
@@ -54,10 +98,17 @@ public class MainFrame extends Frame {
     setLayout(new BorderLayout(10, 10));
 
     initializeUI();
+    currentUser.addListener(userListener);
 
     addWindowListener(new WindowAdapter() {
       @Override
       public void windowClosing(WindowEvent e) {
+        currentUser.removeListener(userListener);
+        savedWriter.close();
+        if (sharedLoad != null) {
+          sharedLoad.cancel(true);
+        }
+        asyncDataService.shutdown();
         reminderService.stop();
         dispose();
         System.exit(0);
@@ -103,7 +154,9 @@ public class MainFrame extends Frame {
 
     // Load data
     loadUserInternships();
+    loadSavedInternshipsFromDatabase();
     loadUserGroups();
+    loadGroupsFromDatabase();
     loadSharedInternships();
   }
 
@@ -165,6 +218,14 @@ public class MainFrame extends Frame {
     groupsButton.addActionListener(e -> cardLayout.show(mainPanel, "groups"));
     navPanel.add(groupsButton);
 
+    // Reminder settings button
+    Button remindersButton = new Button("Reminders");
+    remindersButton.setFont(HEADING_FONT);
+    remindersButton.setForeground(TEXT_COLOR);
+    remindersButton.setBackground(BACKGROUND_COLOR);
+    remindersButton.addActionListener(e -> reminderScheduleDialog());
+    navPanel.add(remindersButton);
+
     // Add padding
     navPanel.add(new Label(""));
 
@@ -180,12 +241,40 @@ public class MainFrame extends Frame {
     Label titleLabel = new Label("My Internships", Label.CENTER);
     titleLabel.setFont(HEADING_FONT);
     titleLabel.setForeground(TEXT_COLOR);
-    panel.add(titleLabel, BorderLayout.NORTH);
+
+    // Type-ahead filter, answered from the in-memory index on each keystroke
+    Panel filterPanel = new Panel(new FlowLayout(FlowLayout.CENTER, 10, 5));
+    filterPanel.setBackground(BACKGROUND_COLOR);
+    Label filterLabel = new Label("Filter:");
+    filterLabel.setFont(REGULAR_FONT);
+    filterLabel.setForeground(TEXT_COLOR);
+    TextField filterField = new TextField(30);
+    filterField.setFont(REGULAR_FONT);
+    filterField.addTextListener(e -> {
+      savedFilter = filterField.getText().trim();
+      applySavedFilter();
+    });
+    Checkbox dueThisWeekBox = new Checkbox("Due this week");
+    dueThisWeekBox.setFont(REGULAR_FONT);
+    dueThisWeekBox.setForeground(TEXT_COLOR);
+    dueThisWeekBox.addItemListener(e -> {
+      savedDueThisWeek = dueThisWeekBox.getState();
+      applySavedFilter();
+    });
+    filterPanel.add(filterLabel);
+    filterPanel.add(filterField);
+    filterPanel.add(dueThisWeekBox);
+
+    Panel headerPanel = new Panel(new BorderLayout());
+    headerPanel.add(titleLabel, BorderLayout.NORTH);
+    headerPanel.add(filterPanel, BorderLayout.SOUTH);
+    panel.add(headerPanel, BorderLayout.NORTH);
 
     // Internship list
     internshipList = new java.awt.List(10);
     internshipList.setFont(REGULAR_FONT);
     internshipList.setBackground(Color.WHITE);
+    savedModel = new IncrementalListModel<>(internshipList, this::formatInternshipDisplay);
     panel.add(internshipList, BorderLayout.CENTER);
 
     // Button panel
@@ -195,14 +284,25 @@ public class MainFrame extends Frame {
 
     Button addButton = new Button("Add Internship");
     styleButton(addButton);
-    addButton.addActionListener(e -> addInternshipDialog());
+    addButton.addActionListener(e -> internshipDialog(null));
+
+    Button editButton = new Button("Edit Internship");
+    styleButton(editButton);
+    editButton.addActionListener(e -> editSelectedInternship());
 
     Button removeButton = new Button("Remove Internship");
     styleButton(removeButton);
     removeButton.addActionListener(e -> removeSelectedInternship());
 
+    Button nextDeadlinesButton = new Button("Next Deadlines");
+    styleButton(nextDeadlinesButton);
+    nextDeadlinesButton.addActionListener(e -> showInfoDialog("Next Deadlines",
+        formatDeadlines(currentUser.getUpcomingSaved(UPCOMING_DEADLINES), "You have no upcoming deadlines")));
+
     buttonPanel.add(addButton);
+    buttonPanel.add(editButton);
     buttonPanel.add(removeButton);
+    buttonPanel.add(nextDeadlinesButton);
 
     panel.add(buttonPanel, BorderLayout.SOUTH);
 
@@ -224,6 +324,8 @@ public class MainFrame extends Frame {
     groupList = new java.awt.List(10);
     groupList.setFont(REGULAR_FONT);
     groupList.setBackground(Color.WHITE);
+    groupModel = new IncrementalListModel<>(groupList,
+        group -> group.getName() + " (" + group.getMemberCount() + " members)");
     panel.add(groupList, BorderLayout.CENTER);
 
     // Button panel
@@ -247,10 +349,15 @@ public class MainFrame extends Frame {
     styleButton(shareButton);
     shareButton.addActionListener(e -> shareInternshipDialog());
 
+    Button deadlinesButton = new Button("Group Deadlines");
+    styleButton(deadlinesButton);
+    deadlinesButton.addActionListener(e -> showGroupDeadlines());
+
     buttonPanel.add(createButton);
     buttonPanel.add(joinButton);
     buttonPanel.add(leaveButton);
     buttonPanel.add(shareButton);
+    buttonPanel.add(deadlinesButton);
 
     panel.add(buttonPanel, BorderLayout.SOUTH);
 
@@ -263,7 +370,7 @@ public class MainFrame extends Frame {
     statusPanel.setBackground(PRIMARY_COLOR);
     statusPanel.setPreferredSize(new Dimension(900, 30));
 
-    Label statusLabel = new Label("Ready", Label.LEFT);
+    statusLabel = new Label("Ready", Label.LEFT);
     statusLabel.setFont(new Font("Arial", Font.PLAIN, 12));
     statusLabel.setForeground(Color.WHITE);
 
@@ -272,6 +379,42 @@ public class MainFrame extends Frame {
     return statusPanel;
   }
 
+  /**
+   * Run a background task behind a loading indicator and deliver its result
+   * on the event thread
+   */
+  private <T> CompletableFuture<T> runTask(String message, CompletableFuture<T> future,
+      Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+    beginTask(message);
+    future.whenComplete((value, error) -> {
+      if (future.isCancelled()) {
+        EventQueue.invokeLater(this::endTask);
+      }
+    });
+    UiTask.onEdt(future, value -> {
+      endTask();
+      onSuccess.accept(value);
+    }, error -> {
+      endTask();
+      onFailure.accept(error);
+    });
+    return future;
+  }
+
+  private void beginTask(String message) {
+    pendingTasks++;
+    statusLabel.setText(message);
+    setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+  }
+
+  private void endTask() {
+    pendingTasks = Math.max(0, pendingTasks - 1);
+    if (pendingTasks == 0) {
+      statusLabel.setText("Ready");
+      setCursor(Cursor.getDefaultCursor());
+    }
+  }
+
   private void styleButton(Button button) {
     button.setFont(REGULAR_FONT);
     button.setBackground(SECONDARY_COLOR);
@@ -279,18 +422,73 @@ public class MainFrame extends Frame {
     button.setPreferredSize(new Dimension(150, 30));
   }
 
+  /**
+   * Fill the list with the user's saved internships; later changes arrive
+   * through {@link ModelUpdater}
+   */
   private void loadUserInternships() {
-    internshipList.removeAll();
+    savedIndex.clear();
     for (Internship internship : currentUser.getSavedInternships()) {
-      internshipList.add(formatInternshipDisplay(internship));
+      savedIndex.add(internship);
     }
+    applySavedFilter();
   }
 
-  private void loadUserGroups() {
-    groupList.removeAll();
-    for (Group group : currentUser.getGroups()) {
-      groupList.add(group.getName() + " (" + group.getMembers().size() + " members)");
+  /**
+   * Show the saved internships matching the filter box. Only rows that
+   * start or stop matching are removed or inserted, so a keystroke does not
+   * rebuild the list.
+   *
+   * With "Due this week" ticked the rows come from the user's deadline
+   * index, which returns just that week in deadline order, and only those
+   * are checked against the filter.
+   */
+  private void applySavedFilter() {
+    if (savedDueThisWeek) {
+      savedModel.setPlaceholder("No internships due this week");
+      LocalDate today = LocalDate.now();
+      java.util.List<Internship> due = currentUser.getSavedDueBetween(today, today.plusDays(6));
+      if (!savedFilter.isEmpty()) {
+        due.removeIf(internship -> !InternshipFilterIndex.matches(internship, savedFilter));
+      }
+      savedModel.replaceAll(due);
+      return;
     }
+    savedModel.setPlaceholder(savedFilter.isEmpty() ? null : "No internships match the filter");
+    savedModel.replaceAll(savedIndex.search(savedFilter));
+  }
+
+  /**
+   * Restore the user's persisted saved internships
+   */
+  private void loadSavedInternshipsFromDatabase() {
+    runTask("Loading internships...", asyncDataService.getSavedInternships(currentUser), internships -> {
+      for (Internship internship : internships) {
+        currentUser.addInternship(internship);
+      }
+      savedWriter.markPersisted(internships);
+    }, error -> {
+      // Keep working with in-memory internships only
+    });
+  }
+
+  private void loadUserGroups() {
+    groupModel.clear();
+    groupModel.addAll(currentUser.getGroups());
+  }
+
+  /**
+   * Restore the user's persisted group memberships
+   */
+  private void loadGroupsFromDatabase() {
+    runTask("Loading groups...", asyncDataService.getGroupsForUser(currentUser), groups -> {
+      for (Group group : groups) {
+        group.addMember(currentUser);
+        groupModel.update(group);
+      }
+    }, error -> {
+      // Keep working with in-memory groups only
+    });
   }
 
   private String formatInternshipDisplay(Internship internship) {
@@ -298,8 +496,24 @@ public class MainFrame extends Frame {
         " (Due: " + dateFormat.format(internship.getDeadline()) + ")";
   }
 
-  private void addInternshipDialog() {
-    Dialog dialog = new Dialog(this, "Add New Internship", true);
+  private void editSelectedInternship() {
+    Internship selected = savedModel.getSelected();
+    if (selected != null) {
+      internshipDialog(selected);
+    } else {
+      showErrorDialog("Please select an internship to edit");
+    }
+  }
+
+  /**
+   * Add a new internship, or edit {@code existing} in place if it is not
+   * null. Edits go through {@link User#updateInternship} and
+   * {@link Group#updateInternship}, so the lists, the deadline indexes and
+   * the reminders pick up the change as an update rather than a remove and
+   * add.
+   */
+  private void internshipDialog(Internship existing) {
+    Dialog dialog = new Dialog(this, existing == null ? "Add New Internship" : "Edit Internship", true);
     dialog.setLayout(new GridLayout(6, 2, 10, 10));
     dialog.setSize(400, 300);
     dialog.setLocationRelativeTo(this);
@@ -321,7 +535,15 @@ public class MainFrame extends Frame {
     Label urlLabel = new Label("URL:");
     TextField urlField = new TextField(20);
 
-    Button okButton = new Button("Add");
+    if (existing != null) {
+      companyField.setText(existing.getCompany());
+      positionField.setText(existing.getPosition());
+      descriptionField.setText(existing.getDescription());
+      deadlineField.setText(dateFormat.format(existing.getDeadline()));
+      urlField.setText(existing.getUrl());
+    }
+
+    Button okButton = new Button(existing == null ? "Add" : "Save");
     Button cancelButton = new Button("Cancel");
 
     styleDialog(companyLabel, positionLabel, descriptionLabel, deadlineLabel, urlLabel);
@@ -339,9 +561,19 @@ public class MainFrame extends Frame {
           return;
         }
 
-        Internship internship = new Internship(company, position, description, deadline, url);
-        currentUser.addInternship(internship);
-        loadUserInternships();
+        if (existing == null) {
+          currentUser.addInternship(new Internship(company, position, description, deadline, url));
+        } else {
+          existing.setCompany(company);
+          existing.setPosition(position);
+          existing.setDescription(description);
+          existing.setDeadline(deadline);
+          existing.setUrl(url);
+          currentUser.updateInternship(existing);
+          for (Group group : currentUser.getGroups()) {
+            group.updateInternship(existing);
+          }
+        }
         dialog.dispose();
 
       } catch (ParseException ex) {
@@ -375,8 +607,8 @@ public class MainFrame extends Frame {
   }
 
   private void removeSelectedInternship() {
-    int selectedIndex = internshipList.getSelectedIndex();
-    if (selectedIndex != -1) {
+    Internship selected = savedModel.getSelected();
+    if (selected != null) {
       Dialog confirmDialog = new Dialog(this, "Confirm Removal", true);
       confirmDialog.setLayout(new BorderLayout(10, 10));
       confirmDialog.setSize(300, 150);
@@ -394,9 +626,7 @@ public class MainFrame extends Frame {
       Button noButton = new Button("No");
 
       yesButton.addActionListener(e -> {
-        Internship selected = (Internship) currentUser.getSavedInternships().toArray()[selectedIndex];
         currentUser.removeInternship(selected);
-        loadUserInternships();
         confirmDialog.dispose();
       });
 
@@ -442,10 +672,20 @@ public class MainFrame extends Frame {
     createButton.addActionListener(e -> {
       String groupName = nameField.getText().trim();
       if (!groupName.isEmpty()) {
-        Group group = new Group(groupName);
-        group.addMember(currentUser);
-        loadUserGroups();
-        dialog.dispose();
+        createButton.setEnabled(false);
+        runTask("Creating group...", asyncDataService.createGroup(groupName, currentUser), group -> {
+          createButton.setEnabled(true);
+          if (group == null) {
+            showErrorDialog("Group already exists. Use Join Group instead.");
+            return;
+          }
+          group.addMember(currentUser);
+          groupModel.update(group);
+          dialog.dispose();
+        }, error -> {
+          createButton.setEnabled(true);
+          showErrorDialog("Failed to create group. Check database connection.");
+        });
       } else {
         showErrorDialog("Group name cannot be empty");
       }
@@ -490,10 +730,20 @@ public class MainFrame extends Frame {
     joinButton.addActionListener(e -> {
       String groupName = nameField.getText().trim();
       if (!groupName.isEmpty()) {
-        Group group = new Group(groupName);
-        group.addMember(currentUser);
-        loadUserGroups();
-        dialog.dispose();
+        joinButton.setEnabled(false);
+        runTask("Joining group...", asyncDataService.joinGroup(groupName, currentUser), group -> {
+          joinButton.setEnabled(true);
+          if (group == null) {
+            showErrorDialog("No group named " + groupName);
+            return;
+          }
+          group.addMember(currentUser);
+          groupModel.update(group);
+          dialog.dispose();
+        }, error -> {
+          joinButton.setEnabled(true);
+          showErrorDialog("Failed to join group. Check database connection.");
+        });
       } else {
         showErrorDialog("Group name cannot be empty");
       }
@@ -530,10 +780,15 @@ public class MainFrame extends Frame {
       Button noButton = new Button("No");
 
       yesButton.addActionListener(e -> {
-        Group selected = (Group) currentUser.getGroups().toArray()[selectedIndex];
-        selected.removeMember(currentUser);
-        loadUserGroups();
-        confirmDialog.dispose();
+        Group selected = groupModel.get(selectedIndex);
+        yesButton.setEnabled(false);
+        runTask("Leaving group...", asyncDataService.leaveGroup(selected.getName(), currentUser), left -> {
+          selected.removeMember(currentUser);
+          confirmDialog.dispose();
+        }, error -> {
+          yesButton.setEnabled(true);
+          showErrorDialog("Failed to leave group. Check database connection.");
+        });
       });
 
       noButton.addActionListener(e -> confirmDialog.dispose());
@@ -550,6 +805,38 @@ public class MainFrame extends Frame {
     }
   }
 
+  /**
+   * Show how many of the selected group's shared internships are due this
+   * week and the next few deadlines, from the group's deadline index
+   */
+  private void showGroupDeadlines() {
+    Group selected = groupModel.getSelected();
+    if (selected == null) {
+      showErrorDialog("Please select a group");
+      return;
+    }
+    LocalDate today = LocalDate.now();
+    int dueThisWeek = selected.getSharedDueBetween(today, today.plusDays(6)).size();
+    showInfoDialog(selected.getName() + " Deadlines",
+        dueThisWeek + " due this week\n\n"
+            + formatDeadlines(selected.getUpcomingShared(UPCOMING_DEADLINES), "No upcoming deadlines in this group"));
+  }
+
+  /**
+   * One line per internship, soonest first, or {@code empty} if there are
+   * none
+   */
+  private String formatDeadlines(java.util.List<Internship> internships, String empty) {
+    if (internships.isEmpty()) {
+      return empty;
+    }
+    StringBuilder text = new StringBuilder();
+    for (Internship internship : internships) {
+      text.append(formatInternshipDisplay(internship)).append('\n');
+    }
+    return text.toString();
+  }
+
   private void shareInternshipDialog() {
     if (currentUser.getGroups().isEmpty()) {
       showErrorDialog("You don't have any groups to share with.");
@@ -563,16 +850,18 @@ public class MainFrame extends Frame {
 
     Dialog dialog = new Dialog(this, "Share Internship", true);
     dialog.setLayout(new GridLayout(3, 2, 10, 10));
-    dialog.setSize(400, 200);
+    dialog.setSize(400, 260);
     dialog.setLocationRelativeTo(this);
     dialog.setBackground(BACKGROUND_COLOR);
 
-    Label groupLabel = new Label("Select Group:");
+    Label groupLabel = new Label("Select Groups:");
     groupLabel.setFont(REGULAR_FONT);
     groupLabel.setForeground(TEXT_COLOR);
 
-    Choice groupChoice = new Choice();
-    for (Group group : currentUser.getGroups()) {
+    // Multi-select so one posting can be shared with many groups at once
+    java.util.List<Group> groups = new ArrayList<>(currentUser.getGroups());
+    java.awt.List groupChoice = new java.awt.List(4, true);
+    for (Group group : groups) {
       groupChoice.add(group.getName());
     }
 
@@ -594,31 +883,37 @@ public class MainFrame extends Frame {
 
     shareButton.addActionListener(e -> {
       int selectedInternshipIndex = internshipChoice.getSelectedIndex();
-      String selectedGroupName = groupChoice.getSelectedItem();
+      int[] selectedGroupIndexes = groupChoice.getSelectedIndexes();
+
+      if (selectedGroupIndexes.length == 0) {
+        showErrorDialog("Please select at least one group");
+        return;
+      }
 
       if (selectedInternshipIndex >= 0 && selectedInternshipIndex < internshipsList.size()) {
         Internship selectedInternship = internshipsList.get(selectedInternshipIndex);
 
-        try {
-          // Store in database using DatabaseUtils
-          boolean success = DatabaseUtils.shareInternship(
-              UUID.randomUUID().toString(), // Generate a unique ID
-              selectedInternship.getCompany(),
-              selectedInternship.getPosition(),
-              selectedInternship.getDescription(),
-              selectedInternship.getDeadline(),
-              selectedInternship.getUrl(),
-              selectedGroupName,
-              currentUser.getName());
-
-          if (success) {
-            showInfoDialog("Internship shared successfully with group: " + selectedGroupName);
+        java.util.List<InternshipShare> shares = new ArrayList<>();
+        for (int groupIndex : selectedGroupIndexes) {
+          shares.add(new InternshipShare(selectedInternship, groups.get(groupIndex).getName(), currentUser.getName()));
+        }
+
+        // Store all shares in one batched round trip
+        runTask("Sharing internship...", asyncDataService.shareInternships(shares), outcomes -> {
+          int shared = 0;
+          for (int i = 0; i < outcomes.length; i++) {
+            if (outcomes[i]) {
+              groups.get(selectedGroupIndexes[i]).shareInternship(selectedInternship);
+              shared++;
+            }
+          }
+
+          if (shared == outcomes.length) {
+            showInfoDialog("Internship shared successfully with " + shared + " group(s)");
           } else {
-            showErrorDialog("Failed to share internship. Check database connection.");
+            showErrorDialog("Shared with " + shared + " of " + outcomes.length + " groups.");
           }
-        } catch (Exception ex) {
-          showErrorDialog("Error sharing internship: " + ex.getMessage());
-        }
+        }, error -> showErrorDialog("Failed to share internship. Check database connection."));
       }
 
       dialog.dispose();
@@ -636,6 +931,65 @@ public class MainFrame extends Frame {
     dialog.setVisible(true);
   }
 
+  /**
+   * Let the user choose when deadline reminders are sent
+   */
+  private void reminderScheduleDialog() {
+    Dialog dialog = new Dialog(this, "Reminder Schedule", true);
+    dialog.setLayout(new BorderLayout(10, 10));
+    dialog.setSize(380, 170);
+    dialog.setLocationRelativeTo(this);
+    dialog.setBackground(BACKGROUND_COLOR);
+
+    Panel inputPanel = new Panel();
+    inputPanel.setLayout(new FlowLayout(FlowLayout.CENTER, 10, 10));
+
+    Label offsetsLabel = new Label("Remind me before (e.g. 7d,3d,1d,2h):");
+    offsetsLabel.setFont(REGULAR_FONT);
+    offsetsLabel.setForeground(TEXT_COLOR);
+
+    TextField offsetsField = new TextField(currentUser.getReminderSchedule().toString(), 20);
+
+    inputPanel.add(offsetsLabel);
+    inputPanel.add(offsetsField);
+
+    Panel buttonPanel = new Panel();
+    buttonPanel.setLayout(new FlowLayout(FlowLayout.CENTER, 10, 10));
+
+    Button saveButton = new Button("Save");
+    Button cancelButton = new Button("Cancel");
+
+    saveButton.addActionListener(e -> {
+      ReminderSchedule schedule;
+      try {
+        schedule = ReminderSchedule.parse(offsetsField.getText());
+      } catch (IllegalArgumentException ex) {
+        showErrorDialog(ex.getMessage());
+        return;
+      }
+
+      saveButton.setEnabled(false);
+      runTask("Saving reminder schedule...", asyncDataService.updateReminderSchedule(currentUser, schedule),
+          saved -> {
+            currentUser.setReminderSchedule(schedule);
+            dialog.dispose();
+          }, error -> {
+            saveButton.setEnabled(true);
+            showErrorDialog("Failed to save reminder schedule. Check database connection.");
+          });
+    });
+
+    cancelButton.addActionListener(e -> dialog.dispose());
+
+    buttonPanel.add(saveButton);
+    buttonPanel.add(cancelButton);
+
+    dialog.add(inputPanel, BorderLayout.CENTER);
+    dialog.add(buttonPanel, BorderLayout.SOUTH);
+
+    dialog.setVisible(true);
+  }
+
   private void showErrorDialog(String message) {
     Dialog errorDialog = new Dialog(this, "Error", true);
     errorDialog.setLayout(new BorderLayout(10, 10));
@@ -696,12 +1050,48 @@ public class MainFrame extends Frame {
     Label titleLabel = new Label("Internships Shared With Me", Label.CENTER);
     titleLabel.setFont(HEADING_FONT);
     titleLabel.setForeground(TEXT_COLOR);
-    panel.add(titleLabel, BorderLayout.NORTH);
+
+    // Search box
+    Panel searchPanel = new Panel(new FlowLayout(FlowLayout.CENTER, 10, 5));
+    searchPanel.setBackground(BACKGROUND_COLOR);
+    sharedSearchField = new TextField(30);
+    sharedSearchField.setFont(REGULAR_FONT);
+    // Enter in the field searches too
+    sharedSearchField.addActionListener(e -> searchSharedInternships());
+
+    Button searchButton = new Button("Search");
+    styleButton(searchButton);
+    searchButton.addActionListener(e -> searchSharedInternships());
+
+    Button clearSearchButton = new Button("Clear");
+    styleButton(clearSearchButton);
+    clearSearchButton.addActionListener(e -> {
+      sharedSearchField.setText("");
+      searchSharedInternships();
+    });
+
+    searchPanel.add(sharedSearchField);
+    searchPanel.add(searchButton);
+    searchPanel.add(clearSearchButton);
+
+    Panel headerPanel = new Panel(new BorderLayout());
+    headerPanel.add(titleLabel, BorderLayout.NORTH);
+    headerPanel.add(searchPanel, BorderLayout.SOUTH);
+    panel.add(headerPanel, BorderLayout.NORTH);
 
     // Shared internships list
     sharedInternshipsList = new java.awt.List(10);
     sharedInternshipsList.setFont(REGULAR_FONT);
     sharedInternshipsList.setBackground(Color.WHITE);
+    sharedModel = new IncrementalListModel<>(sharedInternshipsList, this::formatSharedInternshipDisplay);
+    // AWT lists don't report scrolling, so page in more rows as the
+    // selection (mouse or arrow keys) approaches the end of what's loaded
+    sharedInternshipsList.addItemListener(e -> {
+      int selected = sharedInternshipsList.getSelectedIndex();
+      if (sharedHasMore && selected >= sharedModel.size() - SHARED_PREFETCH_ROWS) {
+        loadNextSharedPage();
+      }
+    });
     panel.add(sharedInternshipsList, BorderLayout.CENTER);
 
     // Button panel
@@ -721,7 +1111,13 @@ public class MainFrame extends Frame {
     styleButton(saveButton);
     saveButton.addActionListener(e -> saveSharedInternship());
 
+    loadMoreButton = new Button("Load More");
+    styleButton(loadMoreButton);
+    loadMoreButton.setEnabled(false);
+    loadMoreButton.addActionListener(e -> loadNextSharedPage());
+
     buttonPanel.add(refreshButton);
+    buttonPanel.add(loadMoreButton);
     buttonPanel.add(viewDetailsButton);
     buttonPanel.add(saveButton);
 
@@ -731,36 +1127,104 @@ public class MainFrame extends Frame {
   }
 
   /**
-   * Load shared internships from database
+   * Show the shared internships matching the search box, or the whole feed
+   * if it is empty
+   */
+  private void searchSharedInternships() {
+    String text = sharedSearchField.getText().trim();
+    sharedSearch = text.isEmpty() ? null : text;
+    loadSharedInternships();
+  }
+
+  /**
+   * Load the first page of shared internships (or of the current search)
+   * from database
    */
   private void loadSharedInternships() {
-    sharedInternshipsList.removeAll();
+    if (sharedLoad != null) {
+      // Results of the older request would be stale now
+      sharedLoad.cancel(true);
+      sharedLoad = null;
+    }
+    sharedModel.setPlaceholder(null);
+    sharedModel.clear();
+    sharedCursor = null;
+    searchCursor = null;
+    sharedHasMore = true;
+    loadNextSharedPage();
+  }
 
-    // Get shared internships for the current user's groups
-    java.util.List<Internship> sharedInternships = com.hireme.internship.utils.DatabaseUtils
-        .getSharedInternshipsForUser(currentUser);
+  /**
+   * Fetch the next page of shared internships in the background and append
+   * it to the list
+   */
+  private void loadNextSharedPage() {
+    if (!sharedHasMore || sharedLoad != null) {
+      return;
+    }
 
-    for (Internship internship : sharedInternships) {
-      String displayText = formatInternshipDisplay(internship);
-      if (internship.getMetadata() != null && !internship.getMetadata().isEmpty()) {
-        displayText += " - " + internship.getMetadata();
-      }
-      sharedInternshipsList.add(displayText);
+    loadMoreButton.setEnabled(false);
+    Consumer<Throwable> onFailure = error -> {
+      sharedLoad = null;
+      sharedHasMore = false;
+      sharedModel.setPlaceholder("Could not load shared internships");
+    };
+
+    if (sharedSearch != null) {
+      CompletableFuture<InternshipSearchPage> load = asyncDataService.searchSharedInternships(currentUser,
+          sharedSearch, searchCursor, SHARED_PAGE_SIZE);
+      sharedLoad = load;
+      runTask("Searching shared internships...", load, page -> {
+        sharedLoad = null;
+        searchCursor = page.getNextCursor();
+        appendSharedPage(page.getInternships(), page.hasMore(), NO_SEARCH_RESULTS);
+      }, onFailure);
+    } else {
+      CompletableFuture<SharedInternshipPage> load = asyncDataService.getSharedInternshipsPage(currentUser,
+          sharedCursor, SHARED_PAGE_SIZE);
+      sharedLoad = load;
+      runTask("Loading shared internships...", load, page -> {
+        sharedLoad = null;
+        sharedCursor = page.getNextCursor();
+        appendSharedPage(page.getInternships(), page.hasMore(), NO_SHARED_INTERNSHIPS);
+      }, onFailure);
     }
+  }
+
+  private void appendSharedPage(java.util.List<Internship> internships, boolean hasMore, String placeholder) {
+    sharedModel.setPlaceholder(placeholder);
+    sharedModel.addAll(internships);
 
-    if (sharedInternshipsList.getItemCount() == 0) {
-      sharedInternshipsList.add("No shared internships found");
+    sharedHasMore = hasMore;
+    loadMoreButton.setEnabled(sharedHasMore);
+  }
+
+  private String formatSharedInternshipDisplay(Internship internship) {
+    String displayText = formatInternshipDisplay(internship);
+    if (internship.getMetadata() != null && !internship.getMetadata().isEmpty()) {
+      displayText += " - " + internship.getMetadata();
     }
+    return displayText;
+  }
+
+  /**
+   * @return The shared internship selected in the list, or null
+   */
+  private Internship getSelectedSharedInternship() {
+    return sharedModel.getSelected();
   }
 
   /**
    * View details of a shared internship
    */
   private void viewSharedInternshipDetails() {
-    int selectedIndex = sharedInternshipsList.getSelectedIndex();
-    if (selectedIndex != -1 && !sharedInternshipsList.getItem(selectedIndex).equals("No shared internships found")) {
-      // For demo purposes, just show a simple detail dialog with the selection
-      showInfoDialog("Internship Details", sharedInternshipsList.getItem(selectedIndex));
+    Internship selected = getSelectedSharedInternship();
+    if (selected != null) {
+      showInfoDialog("Internship Details",
+          "Company: " + selected.getCompany() + "\n" +
+              "Position: " + selected.getPosition() + "\n" +
+              "Deadline: " + dateFormat.format(selected.getDeadline()) + "\n" +
+              "URL: " + (selected.getUrl() != null ? selected.getUrl() : ""));
     } else {
       showErrorDialog("Please select an internship to view");
     }
@@ -770,42 +1234,21 @@ public class MainFrame extends Frame {
    * Save a shared internship to my internships
    */
   private void saveSharedInternship() {
-    int selectedIndex = sharedInternshipsList.getSelectedIndex();
-    if (selectedIndex != -1 && !sharedInternshipsList.getItem(selectedIndex).equals("No shared internships found")) {
-      // In a real app, we would parse the selection and create a new Internship
-      // object
-      // For demo purposes, create a dummy internship
+    Internship selected = getSelectedSharedInternship();
+    if (selected != null) {
       try {
-        String selected = sharedInternshipsList.getItem(selectedIndex);
-        String[] parts = selected.split(" - ");
-
-        if (parts.length >= 2) {
-          String company = parts[0];
-          String position = parts[1].split(" \\(Due:")[0];
-
-          java.util.Date deadline = new java.util.Date(); // Default to today
-
-          // Try to parse deadline if present
-          if (selected.contains("Due:")) {
-            try {
-              String dateStr = selected.split("Due: ")[1].split("\\)")[0];
-              deadline = new SimpleDateFormat("yyyy-MM-dd").parse(dateStr);
-            } catch (Exception e) {
-              // Use default date if parsing fails
-            }
-          }
-
-          Internship newInternship = new Internship(
-              company,
-              position,
-              "Details from shared internship",
-              deadline,
-              "https://example.com");
-
-          currentUser.addInternship(newInternship);
-          loadUserInternships();
-          showInfoDialog("Success", "Internship saved to your list");
-        }
+        // Keep the shared posting's id so saving it twice, or also seeing it
+        // in a group, refers to the same internship
+        Internship newInternship = new Internship(
+            selected.getId(),
+            selected.getCompany(),
+            selected.getPosition(),
+            "Details from shared internship",
+            new Date(selected.getDeadline().getTime()),
+            selected.getUrl() != null ? selected.getUrl() : "https://example.com");
+
+        currentUser.addInternship(newInternship);
+        showInfoDialog("Success", "Internship saved to your list");
       } catch (Exception e) {
         showErrorDialog("Error saving internship: " + e.getMessage());
       }
@@ -841,4 +1284,68 @@ public class MainFrame extends Frame {
 
     infoDialog.setVisible(true);
   }
+
+  /**
+   * Applies changes to the user's saved internships and groups to the list
+   * models as they happen, on the event thread
+   */
+  private class ModelUpdater implements UserListener {
+
+    @Override
+    public void internshipAdded(Internship internship) {
+      onEventThread(() -> {
+        savedIndex.add(internship);
+        if (savedDueThisWeek) {
+          // Keeps the rows in deadline order
+          applySavedFilter();
+        } else if (InternshipFilterIndex.matches(internship, savedFilter)) {
+          savedModel.add(internship);
+        }
+      });
+    }
+
+    @Override
+    public void internshipRemoved(Internship internship) {
+      onEventThread(() -> {
+        savedIndex.remove(internship);
+        savedModel.remove(internship);
+      });
+    }
+
+    @Override
+    public void internshipUpdated(Internship internship) {
+      onEventThread(() -> {
+        savedIndex.update(internship);
+        if (savedDueThisWeek) {
+          // The deadline may have moved it in or out of the week
+          applySavedFilter();
+          savedModel.update(internship);
+        } else if (!InternshipFilterIndex.matches(internship, savedFilter)) {
+          savedModel.remove(internship);
+        } else if (savedModel.contains(internship)) {
+          savedModel.update(internship);
+        } else {
+          savedModel.add(internship);
+        }
+      });
+    }
+
+    @Override
+    public void groupJoined(Group group) {
+      onEventThread(() -> groupModel.add(group));
+    }
+
+    @Override
+    public void groupLeft(Group group) {
+      onEventThread(() -> groupModel.remove(group));
+    }
+
+    private void onEventThread(Runnable update) {
+      if (EventQueue.isDispatchThread()) {
+        update.run();
+      } else {
+        EventQueue.invokeLater(update);
+      }
+    }
+  }
 }
@@ -0,0 +1,38 @@
+package com.hireme.internship.ui;
+
+import java.awt.EventQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+/**
+ * Delivers the result of a background task back on the AWT event thread
+ */
+final class UiTask {
+
+  private UiTask() {
+  }
+
+  /**
+   * Run {@code onSuccess} or {@code onFailure} on the event thread once the
+   * future completes. Nothing is called if the future was cancelled.
+   */
+  static <T> void onEdt(CompletableFuture<T> future, Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+    future.whenComplete((value, error) -> {
+      if (future.isCancelled()) {
+        return;
+      }
+      EventQueue.invokeLater(() -> {
+        if (error == null) {
+          onSuccess.accept(value);
+        } else {
+          onFailure.accept(unwrap(error));
+        }
+      });
+    });
+  }
+
+  private static Throwable unwrap(Throwable error) {
+    return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+  }
+}
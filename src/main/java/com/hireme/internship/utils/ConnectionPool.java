@@ -0,0 +1,372 @@
+package com.hireme.internship.utils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bounded, thread-safe JDBC connection pool.
+ *
+ * Connections handed out by {@link #getConnection()} are proxies: calling
+ * {@code close()} returns the physical connection to the pool instead of
+ * closing it, so existing try-with-resources callers keep working unchanged.
+ * A returned connection is rolled back and its auto-commit, read-only and
+ * transaction isolation settings are restored before anyone else gets it.
+ */
+public class ConnectionPool {
+  private static final Logger LOGGER = Logger.getLogger(ConnectionPool.class.getName());
+
+  private final String url;
+  private final String user;
+  private final String password;
+  private final int maxSize;
+  private final long acquireTimeoutMillis;
+  private final long idleTimeoutMillis;
+  private final int validationTimeoutSeconds;
+
+  private final Semaphore permits;
+  private final ConcurrentLinkedDeque<IdleConnection> idle = new ConcurrentLinkedDeque<>();
+  private final AtomicInteger active = new AtomicInteger();
+  private final AtomicInteger opened = new AtomicInteger();
+  private final LongAdder acquireCount = new LongAdder();
+  private final LongAdder totalWaitNanos = new LongAdder();
+  private final AtomicLong maxWaitNanos = new AtomicLong();
+  private final ScheduledExecutorService evictor;
+
+  private volatile boolean closed;
+
+  /**
+   * Creates a pool
+   *
+   * @param url                      JDBC URL
+   * @param user                     Database user
+   * @param password                 Database password
+   * @param maxSize                  Maximum number of physical connections
+   * @param acquireTimeoutMillis     How long a caller waits for a free connection
+   * @param idleTimeoutMillis        Idle connections older than this are closed
+   * @param validationTimeoutSeconds Timeout for the validation-on-borrow check
+   */
+  public ConnectionPool(String url, String user, String password, int maxSize,
+      long acquireTimeoutMillis, long idleTimeoutMillis, int validationTimeoutSeconds) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("maxSize must be positive");
+    }
+    this.url = url;
+    this.user = user;
+    this.password = password;
+    this.maxSize = maxSize;
+    this.acquireTimeoutMillis = acquireTimeoutMillis;
+    this.idleTimeoutMillis = idleTimeoutMillis;
+    this.validationTimeoutSeconds = validationTimeoutSeconds;
+    this.permits = new Semaphore(maxSize, true);
+
+    this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, "hireme-pool-evictor");
+      thread.setDaemon(true);
+      return thread;
+    });
+    long evictionPeriod = Math.max(1000, idleTimeoutMillis / 2);
+    evictor.scheduleWithFixedDelay(this::evictIdleConnections, evictionPeriod, evictionPeriod,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Borrows a connection from the pool, opening a new one if none is idle
+   *
+   * @return Connection whose close() returns it to the pool
+   * @throws SQLException if the pool is exhausted for longer than the acquire
+   *                      timeout or a new connection cannot be opened
+   */
+  public Connection getConnection() throws SQLException {
+    if (closed) {
+      throw new SQLException("Connection pool is closed");
+    }
+
+    long start = System.nanoTime();
+    try {
+      if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+        throw new SQLException("Timed out after " + acquireTimeoutMillis
+            + " ms waiting for a database connection (pool size " + maxSize + ")");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLException("Interrupted while waiting for a database connection", e);
+    }
+    recordWait(System.nanoTime() - start);
+
+    try {
+      Connection physical = borrowIdle();
+      if (physical == null) {
+        physical = openConnection();
+      }
+      active.incrementAndGet();
+      return wrap(physical);
+    } catch (SQLException | RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  /**
+   * Closes all idle connections and rejects further borrows. Connections that
+   * are still checked out are closed when they are returned.
+   */
+  public void close() {
+    closed = true;
+    evictor.shutdownNow();
+    IdleConnection entry;
+    while ((entry = idle.pollFirst()) != null) {
+      discard(entry.connection);
+    }
+  }
+
+  /**
+   * Snapshot of the pool counters
+   */
+  public Stats getStats() {
+    long acquires = acquireCount.sum();
+    long averageWait = acquires == 0 ? 0 : totalWaitNanos.sum() / acquires;
+    return new Stats(active.get(), idle.size(), opened.get(), maxSize, acquires,
+        TimeUnit.NANOSECONDS.toMicros(averageWait), TimeUnit.NANOSECONDS.toMicros(maxWaitNanos.get()));
+  }
+
+  private Connection borrowIdle() {
+    IdleConnection entry;
+    while ((entry = idle.pollFirst()) != null) {
+      if (isValid(entry.connection)) {
+        return entry.connection;
+      }
+      LOGGER.fine("Discarding broken pooled connection");
+      discard(entry.connection);
+    }
+    return null;
+  }
+
+  private boolean isValid(Connection connection) {
+    try {
+      return !connection.isClosed() && connection.isValid(validationTimeoutSeconds);
+    } catch (SQLException e) {
+      return false;
+    }
+  }
+
+  private Connection openConnection() throws SQLException {
+    Connection connection = DriverManager.getConnection(url, user, password);
+    opened.incrementAndGet();
+    LOGGER.info("Opened pooled PostgreSQL connection (" + opened.get() + "/" + maxSize + ")");
+    return connection;
+  }
+
+  /**
+   * @param originalIsolation Isolation level to restore, or -1 if the
+   *                          borrower did not change it
+   * @param originalReadOnly  Read-only flag to restore, or null if the
+   *                          borrower did not change it
+   */
+  private void release(Connection physical, int originalIsolation, Boolean originalReadOnly) {
+    active.decrementAndGet();
+    try {
+      if (closed || physical.isClosed()) {
+        discard(physical);
+        return;
+      }
+      // Leave the connection in the state the next borrower expects
+      if (!physical.getAutoCommit()) {
+        physical.rollback();
+        physical.setAutoCommit(true);
+      }
+      if (originalIsolation != -1) {
+        physical.setTransactionIsolation(originalIsolation);
+      }
+      if (originalReadOnly != null) {
+        physical.setReadOnly(originalReadOnly);
+      }
+      physical.clearWarnings();
+      IdleConnection entry = new IdleConnection(physical, System.currentTimeMillis());
+      idle.offerFirst(entry);
+      // close() may have drained the idle queue between the check above and
+      // the offer
+      if (closed && idle.removeFirstOccurrence(entry)) {
+        discard(physical);
+      }
+    } catch (SQLException e) {
+      LOGGER.log(Level.FINE, "Discarding connection that could not be reset", e);
+      discard(physical);
+    } finally {
+      permits.release();
+    }
+  }
+
+  private void evictIdleConnections() {
+    long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+    Iterator<IdleConnection> it = idle.descendingIterator();
+    while (it.hasNext()) {
+      IdleConnection entry = it.next();
+      if (entry.lastUsed < cutoff && idle.removeFirstOccurrence(entry)) {
+        discard(entry.connection);
+      }
+    }
+  }
+
+  private void discard(Connection connection) {
+    opened.decrementAndGet();
+    closeQuietly(connection);
+  }
+
+  private void recordWait(long waitNanos) {
+    acquireCount.increment();
+    totalWaitNanos.add(waitNanos);
+    maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+  }
+
+  private static void closeQuietly(Connection connection) {
+    try {
+      connection.close();
+    } catch (SQLException e) {
+      LOGGER.log(Level.FINE, "Error closing pooled connection", e);
+    }
+  }
+
+  private Connection wrap(Connection physical) {
+    return (Connection) Proxy.newProxyInstance(
+        Connection.class.getClassLoader(),
+        new Class<?>[] { Connection.class },
+        new PooledConnectionHandler(physical));
+  }
+
+  /**
+   * Intercepts close() so that the physical connection goes back to the
+   * pool, and notes the session settings the borrower changes so they can be
+   * put back
+   */
+  private class PooledConnectionHandler implements InvocationHandler {
+    private final Connection physical;
+    private final AtomicBoolean returned = new AtomicBoolean();
+    // Settings before the borrower first changed them; -1 and null if it
+    // did not
+    private int originalIsolation = -1;
+    private Boolean originalReadOnly;
+
+    PooledConnectionHandler(Connection physical) {
+      this.physical = physical;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      switch (method.getName()) {
+        case "close":
+          if (returned.compareAndSet(false, true)) {
+            release(physical, originalIsolation, originalReadOnly);
+          }
+          return null;
+        case "isClosed":
+          return returned.get() || physical.isClosed();
+        case "equals":
+          return proxy == args[0];
+        case "hashCode":
+          return System.identityHashCode(proxy);
+        case "toString":
+          return "Pooled" + physical;
+        default:
+          if (returned.get()) {
+            throw new SQLException("Connection has already been returned to the pool");
+          }
+          if (method.getName().equals("setTransactionIsolation") && originalIsolation == -1) {
+            originalIsolation = physical.getTransactionIsolation();
+          } else if (method.getName().equals("setReadOnly") && originalReadOnly == null) {
+            originalReadOnly = physical.isReadOnly();
+          }
+          try {
+            return method.invoke(physical, args);
+          } catch (InvocationTargetException e) {
+            throw e.getCause();
+          }
+      }
+    }
+  }
+
+  private static final class IdleConnection {
+    final Connection connection;
+    final long lastUsed;
+
+    IdleConnection(Connection connection, long lastUsed) {
+      this.connection = connection;
+      this.lastUsed = lastUsed;
+    }
+  }
+
+  /**
+   * Point-in-time pool statistics
+   */
+  public static final class Stats {
+    private final int active;
+    private final int idle;
+    private final int open;
+    private final int maxSize;
+    private final long acquireCount;
+    private final long averageWaitMicros;
+    private final long maxWaitMicros;
+
+    Stats(int active, int idle, int open, int maxSize, long acquireCount,
+        long averageWaitMicros, long maxWaitMicros) {
+      this.active = active;
+      this.idle = idle;
+      this.open = open;
+      this.maxSize = maxSize;
+      this.acquireCount = acquireCount;
+      this.averageWaitMicros = averageWaitMicros;
+      this.maxWaitMicros = maxWaitMicros;
+    }
+
+    public int getActive() {
+      return active;
+    }
+
+    public int getIdle() {
+      return idle;
+    }
+
+    public int getOpen() {
+      return open;
+    }
+
+    public int getMaxSize() {
+      return maxSize;
+    }
+
+    public long getAcquireCount() {
+      return acquireCount;
+    }
+
+    public long getAverageWaitMicros() {
+      return averageWaitMicros;
+    }
+
+    public long getMaxWaitMicros() {
+      return maxWaitMicros;
+    }
+
+    @Override
+    public String toString() {
+      return "active=" + active + ", idle=" + idle + ", open=" + open + "/" + maxSize +
+          ", acquires=" + acquireCount + ", avgWait=" + averageWaitMicros + "us" +
+          ", maxWait=" + maxWaitMicros + "us";
+    }
+  }
+}
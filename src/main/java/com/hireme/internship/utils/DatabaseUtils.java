@@ -2,23 +2,30 @@ package com.hireme.internship.utils;
 
 import com.hireme.internship.model.Group;
 import com.hireme.internship.model.Internship;
+import com.hireme.internship.model.ReminderSchedule;
 import com.hireme.internship.model.User;
 
+import java.sql.Array;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Savepoint;
 import java.sql.Statement;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
-import java.util.Date;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Database utility class for handling PostgreSQL connections and operations
@@ -27,32 +34,73 @@ public class DatabaseUtils {
   private static final Logger LOGGER = Logger.getLogger(DatabaseUtils.class.getName());
 
   // Database connection properties
-  // Connect to the Docker PostgreSQL container
-  private static final String DB_URL = "jdbc:postgresql://localhost:5432/hireme_db";
-  private static final String DB_USER = "hireme_user";
-  private static final String DB_PASSWORD = "hireme_password";
+  // Connect to the Docker PostgreSQL container by default
+  // reWriteBatchedInserts lets the driver collapse batched INSERTs into
+  // multi-row statements
+  private static final String DB_URL = System.getProperty("hireme.db.url",
+      "jdbc:postgresql://localhost:5432/hireme_db?reWriteBatchedInserts=true");
+  private static final String DB_USER = System.getProperty("hireme.db.user", "hireme_user");
+  private static final String DB_PASSWORD = System.getProperty("hireme.db.password", "hireme_password");
 
-  private static Connection connection = null;
-  private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd");
+  // Connection pool settings, overridable with -Dhireme.db.pool.* system
+  // properties
+  private static final int POOL_MAX_SIZE = Integer.getInteger("hireme.db.pool.maxSize", 10);
+  private static final long POOL_ACQUIRE_TIMEOUT_MS = Long.getLong("hireme.db.pool.acquireTimeoutMs", 5000);
+  private static final long POOL_IDLE_TIMEOUT_MS = Long.getLong("hireme.db.pool.idleTimeoutMs", 300_000);
+  private static final int POOL_VALIDATION_TIMEOUT_S = Integer.getInteger("hireme.db.pool.validationTimeoutS", 2);
+
+  // Rows fetched per network round trip when reading large result sets
+  private static final int FETCH_SIZE = Integer.getInteger("hireme.db.fetchSize", 100);
+
+  // Rows per JDBC batch (and per commit) for bulk writes
+  private static final int BATCH_SIZE = Integer.getInteger("hireme.db.batchSize", 500);
+
+  // Whether the pg_trgm index for typo-tolerant search could be created
+  private static volatile boolean trigramSearch;
+
+  private static volatile ConnectionPool pool;
 
   /**
-   * Gets a connection to the database
+   * Gets a pooled connection to the database. Closing the returned connection
+   * hands it back to the pool.
    * 
    * @return Connection object
    * @throws SQLException if connection fails
    */
   public static Connection getConnection() throws SQLException {
-    if (connection == null || connection.isClosed()) {
-      try {
-        Class.forName("org.postgresql.Driver");
-        connection = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
-        LOGGER.info("Connected to PostgreSQL database");
-      } catch (ClassNotFoundException e) {
-        LOGGER.log(Level.SEVERE, "PostgreSQL JDBC driver not found", e);
-        throw new SQLException("PostgreSQL JDBC driver not found", e);
+    return getPool().getConnection();
+  }
+
+  /**
+   * Get current connection pool statistics (active, idle, wait time)
+   *
+   * @return Pool statistics, or null if the pool has not been created yet
+   */
+  public static ConnectionPool.Stats getPoolStats() {
+    ConnectionPool current = pool;
+    return current == null ? null : current.getStats();
+  }
+
+  private static ConnectionPool getPool() throws SQLException {
+    ConnectionPool current = pool;
+    if (current == null) {
+      synchronized (DatabaseUtils.class) {
+        current = pool;
+        if (current == null) {
+          try {
+            Class.forName("org.postgresql.Driver");
+          } catch (ClassNotFoundException e) {
+            LOGGER.log(Level.SEVERE, "PostgreSQL JDBC driver not found", e);
+            throw new SQLException("PostgreSQL JDBC driver not found", e);
+          }
+          current = new ConnectionPool(DB_URL, DB_USER, DB_PASSWORD, POOL_MAX_SIZE,
+              POOL_ACQUIRE_TIMEOUT_MS, POOL_IDLE_TIMEOUT_MS, POOL_VALIDATION_TIMEOUT_S);
+          pool = current;
+          LOGGER.info("Created PostgreSQL connection pool (max " + POOL_MAX_SIZE + " connections)");
+        }
       }
     }
-    return connection;
+    return current;
   }
 
   /**
@@ -65,7 +113,7 @@ public class DatabaseUtils {
       // Create shared_internships table
       String createSharedInternshipsTable = "CREATE TABLE IF NOT EXISTS shared_internships (" +
           "id SERIAL PRIMARY KEY, " +
-          "internship_id VARCHAR(255) NOT NULL, " +
+          "internship_id BIGINT NOT NULL, " +
           "company VARCHAR(255) NOT NULL, " +
           "position VARCHAR(255) NOT NULL, " +
           "description TEXT, " +
@@ -77,10 +125,31 @@ public class DatabaseUtils {
           ")";
 
       stmt.execute(createSharedInternshipsTable);
+      migrateInternshipIds(conn);
+
+      // Supports the per-group, keyset-paginated feed ordered by
+      // (shared_date, id)
+      stmt.execute("CREATE INDEX IF NOT EXISTS idx_shared_internships_group_date " +
+          "ON shared_internships (group_name, shared_date DESC, id DESC)");
+      // Range scans for upcoming deadlines in the reminder query
+      stmt.execute("CREATE INDEX IF NOT EXISTS idx_shared_internships_deadline ON shared_internships (deadline)");
+      createSearchIndexes(conn);
 
       // Create users table
       createUsersTable();
 
+      // Create groups and membership tables
+      createGroupTables();
+
+      // Create the table of internships users saved for themselves
+      createSavedInternshipsTable();
+
+      // Create the ledger of reminders already sent
+      createReminderLedgerTable();
+
+      // Create the shard lease tables used by headless reminder workers
+      createWorkerTables();
+
       LOGGER.info("Database tables initialized");
 
     } catch (SQLException e) {
@@ -104,14 +173,641 @@ public class DatabaseUtils {
           ")";
 
       stmt.execute(createUsersTable);
+
+      // Tracks recent activity so the user cache can be warmed up lazily
+      stmt.execute("ALTER TABLE users ADD COLUMN IF NOT EXISTS last_login TIMESTAMP");
+      stmt.execute("CREATE INDEX IF NOT EXISTS idx_users_last_login ON users (last_login DESC NULLS LAST)");
+      // Per-user reminder offsets such as "7d,3d,1d,2h"; null means the default
+      stmt.execute("ALTER TABLE users ADD COLUMN IF NOT EXISTS reminder_offsets VARCHAR(255)");
       LOGGER.info("Users table initialized");
     }
   }
 
+  /**
+   * Create groups and group_members tables with indexes on the membership
+   * keys
+   */
+  public static void createGroupTables() throws SQLException {
+    try (Connection conn = getConnection();
+        Statement stmt = conn.createStatement()) {
+
+      String createGroupsTable = "CREATE TABLE IF NOT EXISTS groups (" +
+          "id SERIAL PRIMARY KEY, " +
+          "name VARCHAR(255) NOT NULL UNIQUE, " +
+          "created_by VARCHAR(255), " +
+          "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
+          ")";
+
+      // Primary key (user_email, group_name) serves "groups of a user";
+      // the secondary index serves "members of a group"
+      String createMembersTable = "CREATE TABLE IF NOT EXISTS group_members (" +
+          "user_email VARCHAR(255) NOT NULL REFERENCES users(email) ON DELETE CASCADE, " +
+          "group_name VARCHAR(255) NOT NULL REFERENCES groups(name) ON DELETE CASCADE, " +
+          "joined_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+          "PRIMARY KEY (user_email, group_name)" +
+          ")";
+
+      stmt.execute(createGroupsTable);
+      stmt.execute(createMembersTable);
+      stmt.execute("CREATE INDEX IF NOT EXISTS idx_group_members_group ON group_members (group_name)");
+      LOGGER.info("Group tables initialized");
+    }
+  }
+
+  /**
+   * Create the reminder_ledger table. Its primary key makes recording a sent
+   * reminder idempotent. A row without sent_at is a reservation: a reminder
+   * worker (claimed_by) has taken the reminder and is sending it.
+   */
+  public static void createReminderLedgerTable() throws SQLException {
+    try (Connection conn = getConnection();
+        Statement stmt = conn.createStatement()) {
+
+      String createLedgerTable = "CREATE TABLE IF NOT EXISTS reminder_ledger (" +
+          "user_email VARCHAR(255) NOT NULL, " +
+          "internship_id BIGINT NOT NULL, " +
+          "reminder_window INT NOT NULL, " +
+          "sent_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, " +
+          "PRIMARY KEY (user_email, internship_id, reminder_window)" +
+          ")";
+
+      stmt.execute(createLedgerTable);
+      stmt.execute("ALTER TABLE reminder_ledger ADD COLUMN IF NOT EXISTS claimed_by VARCHAR(255)");
+      stmt.execute("ALTER TABLE reminder_ledger ALTER COLUMN sent_at DROP NOT NULL");
+      LOGGER.info("Reminder ledger initialized");
+    }
+  }
+
+  /**
+   * Look up which of the given reminders have already been sent or are being
+   * sent by a reminder worker, checking a whole batch of entries per query
+   *
+   * @param entries Reminders about to be sent
+   * @return The subset of {@code entries} found in the ledger
+   */
+  public static Set<ReminderLedgerEntry> findSentReminders(Collection<ReminderLedgerEntry> entries)
+      throws SQLException {
+    Set<ReminderLedgerEntry> sent = new HashSet<>();
+    if (entries.isEmpty()) {
+      return sent;
+    }
+
+    String sql = "SELECT l.user_email, l.internship_id, l.reminder_window FROM reminder_ledger l " +
+        "JOIN unnest(?::varchar[], ?::bigint[], ?::int[]) AS k(user_email, internship_id, reminder_window) " +
+        "ON l.user_email = k.user_email AND l.internship_id = k.internship_id " +
+        "AND l.reminder_window = k.reminder_window";
+
+    List<ReminderLedgerEntry> rows = new ArrayList<>(entries);
+    try (Connection conn = getConnection();
+        PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+        List<ReminderLedgerEntry> chunk = rows.subList(from, Math.min(rows.size(), from + BATCH_SIZE));
+        String[] emails = new String[chunk.size()];
+        Long[] internshipIds = new Long[chunk.size()];
+        Integer[] windows = new Integer[chunk.size()];
+        for (int i = 0; i < chunk.size(); i++) {
+          emails[i] = chunk.get(i).getUserEmail();
+          internshipIds[i] = chunk.get(i).getInternshipId();
+          windows[i] = chunk.get(i).getWindow();
+        }
+        pstmt.setArray(1, conn.createArrayOf("varchar", emails));
+        pstmt.setArray(2, conn.createArrayOf("bigint", internshipIds));
+        pstmt.setArray(3, conn.createArrayOf("integer", windows));
+
+        try (ResultSet rs = pstmt.executeQuery()) {
+          while (rs.next()) {
+            sent.add(new ReminderLedgerEntry(rs.getString("user_email"), rs.getLong("internship_id"),
+                rs.getInt("reminder_window")));
+          }
+        }
+      }
+    }
+    return sent;
+  }
+
+  /**
+   * Record a reminder as sent, completing its reservation if there is one.
+   * Recording the same reminder again is a no-op.
+   *
+   * @return true if the reminder was not recorded as sent before
+   */
+  public static boolean recordReminderSent(ReminderLedgerEntry entry) throws SQLException {
+    String sql = "INSERT INTO reminder_ledger (user_email, internship_id, reminder_window) VALUES (?, ?, ?) " +
+        "ON CONFLICT (user_email, internship_id, reminder_window) DO UPDATE SET sent_at = now() " +
+        "WHERE reminder_ledger.sent_at IS NULL";
+
+    try (Connection conn = getConnection();
+        PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      pstmt.setString(1, entry.getUserEmail());
+      pstmt.setLong(2, entry.getInternshipId());
+      pstmt.setInt(3, entry.getWindow());
+      return pstmt.executeUpdate() > 0;
+    }
+  }
+
+  /**
+   * Reserve reminders for a worker before it sends them, so that no other
+   * worker sends them too, even after a shard has changed hands. A reminder
+   * is reserved if it has no ledger row yet, or if its row is an unfinished
+   * reservation of this worker or of a worker without a heartbeat in the
+   * last {@code workerTimeoutMillis}, i.e. one that has stopped or died.
+   *
+   * @param entries Reminders to reserve, without duplicates
+   * @return The subset of {@code entries} now reserved for the worker
+   */
+  public static Set<ReminderLedgerEntry> reserveReminders(String workerId, Collection<ReminderLedgerEntry> entries,
+      long workerTimeoutMillis) throws SQLException {
+    Set<ReminderLedgerEntry> reserved = new HashSet<>();
+    if (entries.isEmpty()) {
+      return reserved;
+    }
+
+    String sql = "INSERT INTO reminder_ledger AS l (user_email, internship_id, reminder_window, sent_at, claimed_by) " +
+        "SELECT k.user_email, k.internship_id, k.reminder_window, NULL, ? " +
+        "FROM unnest(?::varchar[], ?::bigint[], ?::int[]) AS k(user_email, internship_id, reminder_window) " +
+        "ON CONFLICT (user_email, internship_id, reminder_window) DO UPDATE SET claimed_by = EXCLUDED.claimed_by " +
+        "WHERE l.sent_at IS NULL AND (l.claimed_by = EXCLUDED.claimed_by OR NOT EXISTS (" +
+        "SELECT 1 FROM reminder_workers w WHERE w.worker_id = l.claimed_by " +
+        "AND w.heartbeat_at > now() - ? * INTERVAL '1 millisecond')) " +
+        "RETURNING l.user_email, l.internship_id, l.reminder_window";
+
+    List<ReminderLedgerEntry> rows = new ArrayList<>(entries);
+    try (Connection conn = getConnection();
+        PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+        List<ReminderLedgerEntry> chunk = rows.subList(from, Math.min(rows.size(), from + BATCH_SIZE));
+        String[] emails = new String[chunk.size()];
+        Long[] internshipIds = new Long[chunk.size()];
+        Integer[] windows = new Integer[chunk.size()];
+        for (int i = 0; i < chunk.size(); i++) {
+          emails[i] = chunk.get(i).getUserEmail();
+          internshipIds[i] = chunk.get(i).getInternshipId();
+          windows[i] = chunk.get(i).getWindow();
+        }
+        pstmt.setString(1, workerId);
+        pstmt.setArray(2, conn.createArrayOf("varchar", emails));
+        pstmt.setArray(3, conn.createArrayOf("bigint", internshipIds));
+        pstmt.setArray(4, conn.createArrayOf("integer", windows));
+        pstmt.setLong(5, workerTimeoutMillis);
+
+        try (ResultSet rs = pstmt.executeQuery()) {
+          while (rs.next()) {
+            reserved.add(new ReminderLedgerEntry(rs.getString("user_email"), rs.getLong("internship_id"),
+                rs.getInt("reminder_window")));
+          }
+        }
+      }
+    }
+    return reserved;
+  }
+
+  /**
+   * Drop a worker's reservation of a reminder it could not send, so it can
+   * be sent again later
+   */
+  public static void releaseReminder(String workerId, ReminderLedgerEntry entry) throws SQLException {
+    String sql = "DELETE FROM reminder_ledger WHERE user_email = ? AND internship_id = ? AND reminder_window = ? " +
+        "AND sent_at IS NULL AND claimed_by = ?";
+
+    try (Connection conn = getConnection();
+        PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      pstmt.setString(1, entry.getUserEmail());
+      pstmt.setLong(2, entry.getInternshipId());
+      pstmt.setInt(3, entry.getWindow());
+      pstmt.setString(4, workerId);
+      pstmt.executeUpdate();
+    }
+  }
+
+  /**
+   * Create the tables through which reminder workers share the work:
+   * reminder_workers holds a heartbeat per live worker, reminder_shards the
+   * lease on each shard of users
+   */
+  public static void createWorkerTables() throws SQLException {
+    try (Connection conn = getConnection();
+        Statement stmt = conn.createStatement()) {
+
+      String createWorkersTable = "CREATE TABLE IF NOT EXISTS reminder_workers (" +
+          "worker_id VARCHAR(255) PRIMARY KEY, " +
+          "heartbeat_at TIMESTAMP NOT NULL" +
+          ")";
+
+      String createShardsTable = "CREATE TABLE IF NOT EXISTS reminder_shards (" +
+          "shard_id INT PRIMARY KEY, " +
+          "owner VARCHAR(255), " +
+          "lease_until TIMESTAMP" +
+          ")";
+
+      stmt.execute(createWorkersTable);
+      stmt.execute(createShardsTable);
+      LOGGER.info("Reminder worker tables initialized");
+    }
+  }
+
+  /**
+   * Make sure shards 0 to {@code shardCount - 1} exist
+   */
+  public static void ensureShards(int shardCount) throws SQLException {
+    String sql = "INSERT INTO reminder_shards (shard_id) SELECT generate_series(0, ? - 1) ON CONFLICT DO NOTHING";
+
+    try (Connection conn = getConnection();
+        PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      pstmt.setInt(1, shardCount);
+      pstmt.executeUpdate();
+    }
+  }
+
+  /**
+   * Record that a worker is alive
+   */
+  public static void heartbeatWorker(String workerId) throws SQLException {
+    String sql = "INSERT INTO reminder_workers (worker_id, heartbeat_at) VALUES (?, now()) " +
+        "ON CONFLICT (worker_id) DO UPDATE SET heartbeat_at = now()";
+
+    try (Connection conn = getConnection();
+        PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      pstmt.setString(1, workerId);
+      pstmt.executeUpdate();
+    }
+  }
+
+  /**
+   * @param timeoutMillis How recent a heartbeat must be
+   * @return Number of workers with a recent heartbeat
+   */
+  public static int countLiveWorkers(long timeoutMillis) throws SQLException {
+    String sql = "SELECT COUNT(*) FROM reminder_workers " +
+        "WHERE heartbeat_at > now() - ? * INTERVAL '1 millisecond'";
+
+    try (Connection conn = getConnection();
+        PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      pstmt.setLong(1, timeoutMillis);
+      try (ResultSet rs = pstmt.executeQuery()) {
+        rs.next();
+        return rs.getInt(1);
+      }
+    }
+  }
+
+  /**
+   * Extend the worker's unexpired shard leases
+   *
+   * @return The shards the worker still holds
+   */
+  public static List<Integer> renewShardLeases(String workerId, long leaseMillis) throws SQLException {
+    String sql = "UPDATE reminder_shards SET lease_until = now() + ? * INTERVAL '1 millisecond' " +
+        "WHERE owner = ? AND lease_until > now() RETURNING shard_id";
+
+    try (Connection conn = getConnection();
+        PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      pstmt.setLong(1, leaseMillis);
+      pstmt.setString(2, workerId);
+      return readShardIds(pstmt);
+    }
+  }
+
+  /**
+   * Lease up to {@code limit} shards that are unowned or whose lease has
+   * expired. Rows another worker is claiming at the same moment are skipped,
+   * so concurrent claims never overlap.
+   *
+   * @return The shards newly leased to the worker
+   */
+  public static List<Integer> claimShards(String workerId, int limit, long leaseMillis) throws SQLException {
+    String sql = "UPDATE reminder_shards SET owner = ?, lease_until = now() + ? * INTERVAL '1 millisecond' " +
+        "WHERE shard_id IN (SELECT shard_id FROM reminder_shards " +
+        "WHERE owner IS NULL OR lease_until IS NULL OR lease_until <= now() " +
+        "ORDER BY shard_id LIMIT ? FOR UPDATE SKIP LOCKED) " +
+        "RETURNING shard_id";
+
+    try (Connection conn = getConnection();
+        PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      pstmt.setString(1, workerId);
+      pstmt.setLong(2, leaseMillis);
+      pstmt.setInt(3, limit);
+      return readShardIds(pstmt);
+    }
+  }
+
+  /**
+   * Give up the worker's leases on the given shards so others can claim them
+   */
+  public static void releaseShards(String workerId, Collection<Integer> shardIds) throws SQLException {
+    String sql = "UPDATE reminder_shards SET owner = NULL, lease_until = NULL WHERE owner = ? AND shard_id = ANY(?)";
+
+    try (Connection conn = getConnection();
+        PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      pstmt.setString(1, workerId);
+      pstmt.setArray(2, conn.createArrayOf("integer", shardIds.toArray()));
+      pstmt.executeUpdate();
+    }
+  }
+
+  /**
+   * Release all of a worker's shards and forget its heartbeat
+   */
+  public static void removeWorker(String workerId) throws SQLException {
+    try (Connection conn = getConnection()) {
+      conn.setAutoCommit(false);
+      try (PreparedStatement release = conn.prepareStatement(
+          "UPDATE reminder_shards SET owner = NULL, lease_until = NULL WHERE owner = ?");
+          PreparedStatement delete = conn.prepareStatement("DELETE FROM reminder_workers WHERE worker_id = ?")) {
+        release.setString(1, workerId);
+        release.executeUpdate();
+        delete.setString(1, workerId);
+        delete.executeUpdate();
+      }
+      conn.commit();
+    }
+  }
+
+  private static List<Integer> readShardIds(PreparedStatement pstmt) throws SQLException {
+    List<Integer> shardIds = new ArrayList<>();
+    try (ResultSet rs = pstmt.executeQuery()) {
+      while (rs.next()) {
+        shardIds.add(rs.getInt(1));
+      }
+    }
+    return shardIds;
+  }
+
+  /**
+   * Stream the internships saved by or shared with users in the given shards
+   * whose deadline falls within the next {@code horizonDays} days, as one
+   * set-based query over the deadline indexes. Users are assigned to shards
+   * by {@link #userShard(String)}; the shard filter sits inside each branch
+   * of the union, so rows of other shards are dropped before the join with
+   * groups and users. Each (user, internship) pair is returned once,
+   * however many paths it reaches the user by. Rows are fetched
+   * {@link #FETCH_SIZE} at a time, so memory use does not depend on the
+   * number of users or postings. The stream holds a database connection and
+   * must be closed.
+   *
+   * @param shardIds   Shards to read
+   * @param shardCount Total number of shards
+   */
+  public static Stream<ReminderCandidate> streamReminderCandidates(Collection<Integer> shardIds, int shardCount,
+      int horizonDays) throws SQLException {
+    String sql = "SELECT DISTINCT ON (u.email, v.internship_id) u.email, u.name, u.reminder_offsets, " +
+        "v.internship_id, v.company, v.position, v.description, v.deadline, v.url " +
+        "FROM users u " +
+        "JOIN (" +
+        "SELECT m.user_email, s.internship_id, s.company, s.position, s.description, s.deadline, s.url " +
+        "FROM group_members m JOIN shared_internships s ON s.group_name = m.group_name " +
+        "WHERE s.deadline BETWEEN CURRENT_DATE AND CURRENT_DATE + ? " +
+        "AND " + userShard("m.user_email") + " = ANY(?) " +
+        "UNION ALL " +
+        "SELECT user_email, internship_id, company, position, description, deadline, url " +
+        "FROM saved_internships WHERE deadline BETWEEN CURRENT_DATE AND CURRENT_DATE + ? " +
+        "AND " + userShard("user_email") + " = ANY(?)" +
+        ") v ON v.user_email = u.email " +
+        "ORDER BY u.email, v.internship_id";
+
+    return queryStream(sql, pstmt -> {
+      Array shards = pstmt.getConnection().createArrayOf("integer", shardIds.toArray());
+      pstmt.setInt(1, horizonDays);
+      pstmt.setInt(2, shardCount);
+      pstmt.setArray(3, shards);
+      pstmt.setInt(4, horizonDays);
+      pstmt.setInt(5, shardCount);
+      pstmt.setArray(6, shards);
+    }, rs -> new ReminderCandidate(mapUser(rs), mapInternship(rs)), FETCH_SIZE);
+  }
+
+  /**
+   * SQL for the shard of the user whose email is in {@code emailColumn}, with
+   * the shard count as a parameter: the first 32 bits of the email's MD5
+   * digest as an unsigned number, modulo the shard count. md5() is
+   * documented and its output fixed, unlike hashtext(), which is internal to
+   * PostgreSQL and may change between major versions; an upgrade must never
+   * move users between shards. Changing this expression reshuffles every
+   * user, so do it only with all workers stopped.
+   */
+  private static String userShard(String emailColumn) {
+    return "(('x' || substr(md5(" + emailColumn + "), 1, 8))::bit(32)::bigint % ?)";
+  }
+
+  /**
+   * Create the saved_internships table: the internships each user keeps in
+   * My Internships, keyed by (user, internship id)
+   */
+  public static void createSavedInternshipsTable() throws SQLException {
+    try (Connection conn = getConnection();
+        Statement stmt = conn.createStatement()) {
+
+      String createSavedTable = "CREATE TABLE IF NOT EXISTS saved_internships (" +
+          "user_email VARCHAR(255) NOT NULL REFERENCES users(email) ON DELETE CASCADE, " +
+          "internship_id BIGINT NOT NULL, " +
+          "company VARCHAR(255) NOT NULL, " +
+          "position VARCHAR(255) NOT NULL, " +
+          "description TEXT, " +
+          "deadline DATE NOT NULL, " +
+          "url VARCHAR(255), " +
+          "saved_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+          "PRIMARY KEY (user_email, internship_id)" +
+          ")";
+
+      stmt.execute(createSavedTable);
+      // Range scans for upcoming deadlines in the reminder query
+      stmt.execute("CREATE INDEX IF NOT EXISTS idx_saved_internships_deadline ON saved_internships (deadline)");
+      LOGGER.info("Saved internships table initialized");
+    }
+  }
+
+  /**
+   * Load all internships a user has saved
+   */
+  public static List<Internship> getSavedInternships(String email) throws SQLException {
+    String sql = "SELECT internship_id, company, position, description, deadline, url FROM saved_internships " +
+        "WHERE user_email = ? ORDER BY saved_at, internship_id";
+
+    List<Internship> internships = new ArrayList<>();
+    try (Connection conn = getConnection();
+        PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      pstmt.setString(1, email);
+      pstmt.setFetchSize(FETCH_SIZE);
+      try (ResultSet rs = pstmt.executeQuery()) {
+        while (rs.next()) {
+          internships.add(mapInternship(rs));
+        }
+      }
+    }
+    return internships;
+  }
+
+  /**
+   * Insert or update saved internships of one user, with JDBC batching and
+   * one commit per batch
+   */
+  public static void upsertSavedInternships(String email, Collection<Internship> internships) throws SQLException {
+    String sql = "INSERT INTO saved_internships (user_email, internship_id, company, position, description, " +
+        "deadline, url) VALUES (?, ?, ?, ?, ?, ?, ?) " +
+        "ON CONFLICT (user_email, internship_id) DO UPDATE SET company = EXCLUDED.company, " +
+        "position = EXCLUDED.position, description = EXCLUDED.description, deadline = EXCLUDED.deadline, " +
+        "url = EXCLUDED.url";
+
+    try (Connection conn = getConnection();
+        PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      conn.setAutoCommit(false);
+
+      int batched = 0;
+      for (Internship internship : internships) {
+        pstmt.setString(1, email);
+        pstmt.setLong(2, internship.getId());
+        pstmt.setString(3, internship.getCompany());
+        pstmt.setString(4, internship.getPosition());
+        pstmt.setString(5, internship.getDescription());
+        pstmt.setDate(6, new java.sql.Date(internship.getDeadline().getTime()));
+        pstmt.setString(7, internship.getUrl());
+        pstmt.addBatch();
+        if (++batched == BATCH_SIZE) {
+          pstmt.executeBatch();
+          conn.commit();
+          batched = 0;
+        }
+      }
+      if (batched > 0) {
+        pstmt.executeBatch();
+        conn.commit();
+      }
+    }
+  }
+
+  /**
+   * Delete saved internships of one user
+   */
+  public static void deleteSavedInternships(String email, Collection<Long> internshipIds) throws SQLException {
+    String sql = "DELETE FROM saved_internships WHERE user_email = ? AND internship_id = ANY(?)";
+
+    try (Connection conn = getConnection();
+        PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      pstmt.setString(1, email);
+      pstmt.setArray(2, conn.createArrayOf("bigint", internshipIds.toArray()));
+      pstmt.executeUpdate();
+    }
+  }
+
+  /**
+   * Create a new group with the creator as its first member
+   *
+   * @return The new group, or null if a group with that name already exists
+   */
+  public static Group createGroup(String name, User creator) throws SQLException {
+    String sql = "INSERT INTO groups (name, created_by) VALUES (?, ?) ON CONFLICT (name) DO NOTHING RETURNING id";
+
+    try (Connection conn = getConnection()) {
+      conn.setAutoCommit(false);
+      Group group = null;
+      try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        pstmt.setString(1, name);
+        pstmt.setString(2, creator.getEmail());
+        try (ResultSet rs = pstmt.executeQuery()) {
+          if (rs.next()) {
+            group = new Group(String.valueOf(rs.getInt("id")), name);
+          }
+        }
+      }
+      if (group != null) {
+        addGroupMember(conn, name, creator.getEmail());
+        group.setStoredMemberCount(1);
+      }
+      conn.commit();
+      return group;
+    }
+  }
+
+  /**
+   * Add a user to an existing group
+   *
+   * @return The group, or null if no group with that name exists
+   */
+  public static Group joinGroup(String name, User user) throws SQLException {
+    try (Connection conn = getConnection()) {
+      conn.setAutoCommit(false);
+      Group group = findGroup(conn, name);
+      if (group != null) {
+        addGroupMember(conn, name, user.getEmail());
+        group.setStoredMemberCount(countGroupMembers(conn, name));
+      }
+      conn.commit();
+      return group;
+    }
+  }
+
+  /**
+   * Remove a user from a group
+   */
+  public static boolean leaveGroup(String name, User user) throws SQLException {
+    String sql = "DELETE FROM group_members WHERE user_email = ? AND group_name = ?";
+
+    try (Connection conn = getConnection();
+        PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      pstmt.setString(1, user.getEmail());
+      pstmt.setString(2, name);
+      return pstmt.executeUpdate() > 0;
+    }
+  }
+
+  /**
+   * Get the groups a user belongs to, with their member counts
+   */
+  public static List<Group> getGroupsForUser(User user) throws SQLException {
+    String sql = "SELECT g.id, g.name, " +
+        "(SELECT COUNT(*) FROM group_members c WHERE c.group_name = g.name) AS member_count " +
+        "FROM group_members m JOIN groups g ON g.name = m.group_name " +
+        "WHERE m.user_email = ? ORDER BY g.name";
+    List<Group> groups = new ArrayList<>();
+
+    try (Connection conn = getConnection();
+        PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      pstmt.setString(1, user.getEmail());
+      try (ResultSet rs = pstmt.executeQuery()) {
+        while (rs.next()) {
+          Group group = new Group(String.valueOf(rs.getInt("id")), rs.getString("name"));
+          group.setStoredMemberCount(rs.getInt("member_count"));
+          groups.add(group);
+        }
+      }
+    }
+
+    return groups;
+  }
+
+  private static Group findGroup(Connection conn, String name) throws SQLException {
+    try (PreparedStatement pstmt = conn.prepareStatement("SELECT id FROM groups WHERE name = ?")) {
+      pstmt.setString(1, name);
+      try (ResultSet rs = pstmt.executeQuery()) {
+        return rs.next() ? new Group(String.valueOf(rs.getInt("id")), name) : null;
+      }
+    }
+  }
+
+  private static void addGroupMember(Connection conn, String groupName, String email) throws SQLException {
+    String sql = "INSERT INTO group_members (user_email, group_name) VALUES (?, ?) ON CONFLICT DO NOTHING";
+    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      pstmt.setString(1, email);
+      pstmt.setString(2, groupName);
+      pstmt.executeUpdate();
+    }
+  }
+
+  private static int countGroupMembers(Connection conn, String groupName) throws SQLException {
+    try (PreparedStatement pstmt = conn.prepareStatement("SELECT COUNT(*) FROM group_members WHERE group_name = ?")) {
+      pstmt.setString(1, groupName);
+      try (ResultSet rs = pstmt.executeQuery()) {
+        rs.next();
+        return rs.getInt(1);
+      }
+    }
+  }
+
   /**
    * Save a user to the database
+   *
+   * @param passwordHash Hash from {@link PasswordHasher#hash(String)}
    */
-  public static boolean saveUser(User user, String password) throws SQLException {
+  public static boolean saveUser(User user, String passwordHash) throws SQLException {
     String sql = "INSERT INTO users (name, email, password) VALUES (?, ?, ?) " +
         "ON CONFLICT (email) DO UPDATE SET name = EXCLUDED.name, password = EXCLUDED.password";
 
@@ -120,7 +816,7 @@ public class DatabaseUtils {
 
       pstmt.setString(1, user.getName());
       pstmt.setString(2, user.getEmail());
-      pstmt.setString(3, password); // In a real app, this would be hashed
+      pstmt.setString(3, passwordHash);
 
       int rowsAffected = pstmt.executeUpdate();
       return rowsAffected > 0;
@@ -128,21 +824,32 @@ public class DatabaseUtils {
   }
 
   /**
-   * Get all users from the database
+   * Check whether any user exists without reading the table
    */
-  public static List<User> getAllUsers() throws SQLException {
-    String sql = "SELECT * FROM users";
-    List<User> users = new ArrayList<>();
-
+  public static boolean hasUsers() throws SQLException {
     try (Connection conn = getConnection();
         Statement stmt = conn.createStatement();
-        ResultSet rs = stmt.executeQuery(sql)) {
+        ResultSet rs = stmt.executeQuery("SELECT EXISTS (SELECT 1 FROM users)")) {
+      return rs.next() && rs.getBoolean(1);
+    }
+  }
 
-      while (rs.next()) {
-        User user = new User(
-            rs.getString("name"),
-            rs.getString("email"));
-        users.add(user);
+  /**
+   * Get the most recently active users, for warming up caches
+   *
+   * @param limit Maximum number of users to return
+   */
+  public static List<User> getRecentlyActiveUsers(int limit) throws SQLException {
+    String sql = "SELECT name, email FROM users ORDER BY last_login DESC NULLS LAST LIMIT ?";
+    List<User> users = new ArrayList<>();
+
+    try (Connection conn = getConnection();
+        PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      pstmt.setInt(1, limit);
+      try (ResultSet rs = pstmt.executeQuery()) {
+        while (rs.next()) {
+          users.add(new User(rs.getString("name"), rs.getString("email")));
+        }
       }
     }
 
@@ -150,23 +857,100 @@ public class DatabaseUtils {
   }
 
   /**
-   * Validate user credentials
+   * Record a successful login
+   */
+  public static void recordLogin(String email) throws SQLException {
+    try (Connection conn = getConnection();
+        PreparedStatement pstmt = conn.prepareStatement("UPDATE users SET last_login = CURRENT_TIMESTAMP WHERE email = ?")) {
+      pstmt.setString(1, email);
+      pstmt.executeUpdate();
+    }
+  }
+
+  /**
+   * Get a single user by email
+   *
+   * @return The user, or null if no user has that email
    */
-  public static boolean validateUserCredentials(String email, String password) throws SQLException {
-    String sql = "SELECT * FROM users WHERE email = ? AND password = ?";
+  public static User getUserByEmail(String email) throws SQLException {
+    String sql = "SELECT name, email, reminder_offsets FROM users WHERE email = ?";
 
     try (Connection conn = getConnection();
         PreparedStatement pstmt = conn.prepareStatement(sql)) {
-
       pstmt.setString(1, email);
-      pstmt.setString(2, password); // In a real app, we would check against hashed password
+      try (ResultSet rs = pstmt.executeQuery()) {
+        return rs.next() ? mapUser(rs) : null;
+      }
+    }
+  }
 
+  /**
+   * Read everything needed to log a user in with one point lookup on the
+   * unique email index
+   *
+   * @return The user and their password hash, or null if there is no such
+   *         user
+   */
+  public static UserCredentials getUserCredentials(String email) throws SQLException {
+    String sql = "SELECT name, email, reminder_offsets, password FROM users WHERE email = ?";
+
+    try (Connection conn = getConnection();
+        PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      pstmt.setString(1, email);
       try (ResultSet rs = pstmt.executeQuery()) {
-        return rs.next(); // Returns true if a matching user was found
+        return rs.next() ? new UserCredentials(mapUser(rs), rs.getString("password")) : null;
       }
     }
   }
 
+  private static User mapUser(ResultSet rs) throws SQLException {
+    User user = new User(rs.getString("name"), rs.getString("email"));
+    String offsets = rs.getString("reminder_offsets");
+    if (offsets != null) {
+      try {
+        user.setReminderSchedule(ReminderSchedule.parse(offsets));
+      } catch (IllegalArgumentException e) {
+        LOGGER.warning("Ignoring invalid reminder schedule of " + user.getEmail() + ": " + e.getMessage());
+      }
+    }
+    return user;
+  }
+
+  /**
+   * Save a user's reminder schedule
+   *
+   * @param schedule New schedule, or null to go back to the default
+   */
+  public static void updateReminderSchedule(String email, ReminderSchedule schedule) throws SQLException {
+    String sql = "UPDATE users SET reminder_offsets = ? WHERE email = ?";
+
+    try (Connection conn = getConnection();
+        PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      pstmt.setString(1, schedule != null ? schedule.toString() : null);
+      pstmt.setString(2, email);
+      pstmt.executeUpdate();
+    }
+  }
+
+  /**
+   * Replace a user's password hash, e.g. with one of a higher cost, unless
+   * the password was changed since {@code oldHash} was read
+   *
+   * @return Whether the hash was replaced
+   */
+  public static boolean updatePasswordHash(String email, String oldHash, String newHash) throws SQLException {
+    String sql = "UPDATE users SET password = ? WHERE email = ? AND password = ?";
+
+    try (Connection conn = getConnection();
+        PreparedStatement pstmt = conn.prepareStatement(sql)) {
+
+      pstmt.setString(1, newHash);
+      pstmt.setString(2, email);
+      pstmt.setString(3, oldHash);
+      return pstmt.executeUpdate() > 0;
+    }
+  }
+
   /**
    * Share an internship with a group
    * 
@@ -180,91 +964,416 @@ public class DatabaseUtils {
    * @param sharedBy     User who shared
    * @return true if successful, false otherwise
    */
-  public static boolean shareInternship(String internshipId, String company, String position,
+  public static boolean shareInternship(long internshipId, String company, String position,
       String description, java.util.Date deadline,
       String url, String groupName, String sharedBy) {
+    try {
+      InternshipShare share = new InternshipShare(internshipId, company, position, description, deadline, url,
+          groupName, sharedBy);
+      return shareInternships(Collections.singletonList(share))[0];
+    } catch (SQLException e) {
+      LOGGER.log(Level.SEVERE, "Error sharing internship", e);
+      return false;
+    }
+  }
+
+  /**
+   * Share many internships at once, e.g. one posting with dozens of groups or
+   * a bulk import. Rows are sent with JDBC batching (rewritten by the driver
+   * into multi-row INSERTs) and committed once per batch. If a batch fails,
+   * its rows are retried one by one so that a single bad row does not reject
+   * the others.
+   *
+   * @param shares Rows to insert
+   * @return Per-row outcome, in iteration order of {@code shares}
+   * @throws SQLException if the database cannot be reached at all
+   */
+  public static boolean[] shareInternships(Collection<InternshipShare> shares) throws SQLException {
     String sql = "INSERT INTO shared_internships (internship_id, company, position, description, " +
         "deadline, url, group_name, shared_by) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
 
+    List<InternshipShare> rows = new ArrayList<>(shares);
+    boolean[] outcomes = new boolean[rows.size()];
+
     try (Connection conn = getConnection();
         PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      conn.setAutoCommit(false);
 
-      pstmt.setString(1, internshipId);
-      pstmt.setString(2, company);
-      pstmt.setString(3, position);
-      pstmt.setString(4, description);
-      pstmt.setDate(5, new java.sql.Date(deadline.getTime()));
-      pstmt.setString(6, url);
-      pstmt.setString(7, groupName);
-      pstmt.setString(8, sharedBy);
+      for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+        int to = Math.min(rows.size(), from + BATCH_SIZE);
+        try {
+          for (int i = from; i < to; i++) {
+            bindShare(pstmt, rows.get(i));
+            pstmt.addBatch();
+          }
+          pstmt.executeBatch();
+          conn.commit();
+          Arrays.fill(outcomes, from, to, true);
+        } catch (SQLException e) {
+          LOGGER.log(Level.WARNING, "Batch share failed, retrying rows individually", e);
+          pstmt.clearBatch();
+          conn.rollback();
+          shareRowByRow(conn, pstmt, rows, from, to, outcomes);
+        }
+      }
+    }
 
-      int rowsAffected = pstmt.executeUpdate();
-      return rowsAffected > 0;
+    return outcomes;
+  }
 
-    } catch (SQLException e) {
-      LOGGER.log(Level.SEVERE, "Error sharing internship", e);
-      return false;
+  private static void shareRowByRow(Connection conn, PreparedStatement pstmt, List<InternshipShare> rows,
+      int from, int to, boolean[] outcomes) throws SQLException {
+    for (int i = from; i < to; i++) {
+      Savepoint savepoint = conn.setSavepoint();
+      try {
+        bindShare(pstmt, rows.get(i));
+        outcomes[i] = pstmt.executeUpdate() > 0;
+        conn.releaseSavepoint(savepoint);
+      } catch (SQLException e) {
+        LOGGER.log(Level.WARNING, "Error sharing internship with group " + rows.get(i).getGroupName(), e);
+        conn.rollback(savepoint);
+      }
     }
+    conn.commit();
+  }
+
+  private static void bindShare(PreparedStatement pstmt, InternshipShare share) throws SQLException {
+    pstmt.setLong(1, share.getInternshipId());
+    pstmt.setString(2, share.getCompany());
+    pstmt.setString(3, share.getPosition());
+    pstmt.setString(4, share.getDescription());
+    pstmt.setDate(5, new java.sql.Date(share.getDeadline().getTime()));
+    pstmt.setString(6, share.getUrl());
+    pstmt.setString(7, share.getGroupName());
+    pstmt.setString(8, share.getSharedBy());
+  }
+
+  /**
+   * Stream all internships shared with a specific group, newest first. Rows
+   * are fetched from the server in batches of {@code fetchSize}, so large
+   * groups are processed in constant memory. The stream holds a database
+   * connection and must be closed, e.g. with try-with-resources.
+   * 
+   * @param groupName Group name
+   * @param fetchSize Rows fetched per round trip
+   * @return Stream of shared internships; SQL errors while reading surface as
+   *         {@link UncheckedSQLException}
+   */
+  public static Stream<Internship> streamSharedInternships(String groupName, int fetchSize) throws SQLException {
+    String sql = "SELECT internship_id, company, position, description, deadline, url FROM shared_internships " +
+        "WHERE group_name = ? ORDER BY shared_date DESC, id DESC";
+    return queryStream(sql, pstmt -> pstmt.setString(1, groupName), DatabaseUtils::mapInternship, fetchSize);
   }
 
   /**
-   * Get all internships shared with a specific group
+   * Pass every internship shared with a specific group to {@code action},
+   * newest first, closing all database resources before returning
    * 
    * @param groupName Group name
-   * @return ResultSet containing shared internships
+   * @param fetchSize Rows fetched per round trip
+   * @param action    Called once per row
    */
-  public static ResultSet getSharedInternships(String groupName) {
+  public static void forEachSharedInternship(String groupName, int fetchSize, Consumer<Internship> action)
+      throws SQLException {
+    try (Stream<Internship> internships = streamSharedInternships(groupName, fetchSize)) {
+      internships.forEach(action);
+    } catch (UncheckedSQLException e) {
+      throw e.getCause();
+    }
+  }
+
+  private static Internship mapInternship(ResultSet rs) throws SQLException {
+    return new Internship(
+        rs.getLong("internship_id"),
+        rs.getString("company"),
+        rs.getString("position"),
+        rs.getString("description"),
+        rs.getDate("deadline"),
+        rs.getString("url"));
+  }
+
+  /**
+   * Run a query and expose its rows as a lazily populated stream. The
+   * connection, statement and result set are released when the stream is
+   * closed.
+   */
+  private static <T> Stream<T> queryStream(String sql, StatementBinder binder, RowMapper<T> mapper, int fetchSize)
+      throws SQLException {
+    Connection conn = getConnection();
+    PreparedStatement pstmt = null;
+    ResultSet rs = null;
     try {
-      Connection conn = getConnection();
-      String sql = "SELECT * FROM shared_internships WHERE group_name = ? ORDER BY shared_date DESC";
-      PreparedStatement pstmt = conn.prepareStatement(sql);
-      pstmt.setString(1, groupName);
-      return pstmt.executeQuery();
+      // The driver only streams with a fetch size inside a transaction
+      conn.setAutoCommit(false);
+      pstmt = conn.prepareStatement(sql);
+      binder.bind(pstmt);
+      pstmt.setFetchSize(fetchSize);
+      rs = pstmt.executeQuery();
     } catch (SQLException e) {
-      LOGGER.log(Level.SEVERE, "Error retrieving shared internships", e);
-      return null;
+      closeQuietly(rs, pstmt, conn);
+      throw e;
+    }
+
+    ResultSet results = rs;
+    PreparedStatement statement = pstmt;
+    Spliterator<T> rows = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED) {
+      @Override
+      public boolean tryAdvance(Consumer<? super T> action) {
+        try {
+          if (!results.next()) {
+            return false;
+          }
+          action.accept(mapper.map(results));
+          return true;
+        } catch (SQLException e) {
+          throw new UncheckedSQLException(e);
+        }
+      }
+    };
+    return StreamSupport.stream(rows, false).onClose(() -> closeQuietly(results, statement, conn));
+  }
+
+  private static void closeQuietly(AutoCloseable... resources) {
+    for (AutoCloseable resource : resources) {
+      if (resource != null) {
+        try {
+          resource.close();
+        } catch (Exception e) {
+          LOGGER.log(Level.FINE, "Error closing database resource", e);
+        }
+      }
     }
   }
 
   /**
-   * Get all shared internships for a specific user based on their group
-   * memberships
+   * Binds parameters to a prepared statement
    */
-  public static List<Internship> getSharedInternshipsForUser(User user) {
-    List<Internship> sharedInternships = new ArrayList<>();
+  @FunctionalInterface
+  private interface StatementBinder {
+    void bind(PreparedStatement pstmt) throws SQLException;
+  }
 
-    // For demo purposes, let's retrieve all shared internships
-    try (Connection conn = getConnection();
-        Statement stmt = conn.createStatement();
-        ResultSet rs = stmt.executeQuery("SELECT * FROM shared_internships ORDER BY shared_date DESC")) {
+  /**
+   * Get one page of the internships shared with the user's groups, newest
+   * first. The membership join walks the (group_name, shared_date, id) index
+   * once per group, and pages are keyed on (shared_date, id) so each page is
+   * an index range scan no matter how deep the user has scrolled. Only the
+   * columns the feed displays are read.
+   *
+   * @param user     User whose feed is loaded
+   * @param after    Cursor returned with the previous page, or null for the
+   *                 first page
+   * @param pageSize Maximum number of internships to return
+   * @return Page of internships with the cursor for the next page
+   */
+  public static SharedInternshipPage getSharedInternshipsPage(User user, SharedInternshipPage.Cursor after,
+      int pageSize) throws SQLException {
+    String sql = "SELECT s.id, s.internship_id, s.company, s.position, s.deadline, s.url, s.shared_date " +
+        "FROM group_members m JOIN shared_internships s ON s.group_name = m.group_name " +
+        "WHERE m.user_email = ? " +
+        (after != null ? "AND (s.shared_date, s.id) < (?, ?) " : "") +
+        "ORDER BY s.shared_date DESC, s.id DESC LIMIT ?";
 
-      while (rs.next()) {
-        Internship internship = new Internship(
-            rs.getString("company"),
-            rs.getString("position"),
-            rs.getString("description"),
-            rs.getDate("deadline"),
-            rs.getString("url"));
-        sharedInternships.add(internship);
+    List<Internship> internships = new ArrayList<>();
+    SharedInternshipPage.Cursor last = null;
+    boolean hasMore = false;
+
+    try (Connection conn = getConnection()) {
+      // The driver only streams with a fetch size inside a transaction
+      conn.setAutoCommit(false);
+      try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+        int index = 1;
+        pstmt.setString(index++, user.getEmail());
+        if (after != null) {
+          pstmt.setTimestamp(index++, after.getSharedDate());
+          pstmt.setInt(index++, after.getId());
+        }
+        // Fetch one extra row to learn whether another page exists
+        pstmt.setInt(index, pageSize + 1);
+        pstmt.setFetchSize(Math.min(FETCH_SIZE, pageSize + 1));
+
+        try (ResultSet rs = pstmt.executeQuery()) {
+          while (rs.next()) {
+            if (internships.size() == pageSize) {
+              hasMore = true;
+              break;
+            }
+            internships.add(new Internship(
+                rs.getLong("internship_id"),
+                rs.getString("company"),
+                rs.getString("position"),
+                null,
+                rs.getDate("deadline"),
+                rs.getString("url")));
+            last = new SharedInternshipPage.Cursor(rs.getTimestamp("shared_date"), rs.getInt("id"));
+          }
+        }
       }
+      conn.commit();
+    }
+
+    return new SharedInternshipPage(internships, hasMore ? last : null);
+  }
 
+  /**
+   * Add the columns and indexes behind {@link #searchSharedInternships}: a
+   * weighted tsvector over company, position and description with a GIN
+   * index, and, if the pg_trgm extension can be enabled, a trigram index
+   * over company and position for partial words and typos
+   */
+  private static void createSearchIndexes(Connection conn) throws SQLException {
+    try (Statement stmt = conn.createStatement()) {
+      stmt.execute("ALTER TABLE shared_internships ADD COLUMN IF NOT EXISTS search_vector tsvector " +
+          "GENERATED ALWAYS AS (" +
+          "setweight(to_tsvector('english', coalesce(company, '')), 'A') || " +
+          "setweight(to_tsvector('english', coalesce(position, '')), 'B') || " +
+          "setweight(to_tsvector('english', coalesce(description, '')), 'C')) STORED");
+      stmt.execute("CREATE INDEX IF NOT EXISTS idx_shared_internships_search " +
+          "ON shared_internships USING GIN (search_vector)");
+    }
+
+    try (Statement stmt = conn.createStatement()) {
+      stmt.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+      stmt.execute("ALTER TABLE shared_internships ADD COLUMN IF NOT EXISTS search_text TEXT " +
+          "GENERATED ALWAYS AS (company || ' ' || position) STORED");
+      stmt.execute("CREATE INDEX IF NOT EXISTS idx_shared_internships_trgm " +
+          "ON shared_internships USING GIN (search_text gin_trgm_ops)");
+      trigramSearch = true;
     } catch (SQLException e) {
-      LOGGER.log(Level.SEVERE, "Error retrieving shared internships for user", e);
+      // Creating extensions may need more privileges than the app has
+      LOGGER.log(Level.WARNING, "pg_trgm is not available; search will only match whole words and prefixes", e);
+      trigramSearch = false;
+    }
+  }
+
+  /**
+   * Search the internships shared with the user's groups by company,
+   * position and description, best match first. Every word of the query
+   * matches as a prefix ("soft eng" finds "Software Engineer"), company
+   * matches rank above position and position above description, and with
+   * pg_trgm available, misspelled words still find close matches. Pages are
+   * keyed on (rank, id) like the feed.
+   *
+   * @param user     User whose groups are searched
+   * @param query    Search text as typed
+   * @param after    Cursor returned with the previous page of the same
+   *                 search, or null for the first page
+   * @param pageSize Maximum number of internships to return
+   * @return Page of matches with the cursor for the next page; empty if the
+   *         query has no words
+   */
+  public static InternshipSearchPage searchSharedInternships(User user, String query,
+      InternshipSearchPage.Cursor after, int pageSize) throws SQLException {
+    String tsQuery = toPrefixTsQuery(query);
+    if (tsQuery.isEmpty()) {
+      return new InternshipSearchPage(Collections.emptyList(), null);
     }
+    String term = query.trim();
+    boolean trigram = trigramSearch;
 
-    return sharedInternships;
+    String sql = "SELECT * FROM (" +
+        "SELECT s.id, s.internship_id, s.company, s.position, s.deadline, s.url, " +
+        (trigram
+            ? "(ts_rank(s.search_vector, q.tsq) + word_similarity(q.term, s.search_text))::real AS rank "
+            : "ts_rank(s.search_vector, q.tsq) AS rank ") +
+        "FROM (SELECT to_tsquery('english', ?) AS tsq, ?::text AS term) q, " +
+        "group_members m JOIN shared_internships s ON s.group_name = m.group_name " +
+        "WHERE m.user_email = ? AND (s.search_vector @@ q.tsq" +
+        (trigram ? " OR q.term <% s.search_text" : "") + ")" +
+        ") r " +
+        (after != null ? "WHERE (r.rank, r.id) < (?::real, ?) " : "") +
+        "ORDER BY r.rank DESC, r.id DESC LIMIT ?";
+
+    List<Internship> internships = new ArrayList<>();
+    InternshipSearchPage.Cursor last = null;
+    boolean hasMore = false;
+
+    try (Connection conn = getConnection();
+        PreparedStatement pstmt = conn.prepareStatement(sql)) {
+      int index = 1;
+      pstmt.setString(index++, tsQuery);
+      pstmt.setString(index++, term);
+      pstmt.setString(index++, user.getEmail());
+      if (after != null) {
+        pstmt.setFloat(index++, after.getRank());
+        pstmt.setInt(index++, after.getId());
+      }
+      // Fetch one extra row to learn whether another page exists
+      pstmt.setInt(index, pageSize + 1);
+
+      try (ResultSet rs = pstmt.executeQuery()) {
+        while (rs.next()) {
+          if (internships.size() == pageSize) {
+            hasMore = true;
+            break;
+          }
+          internships.add(new Internship(
+              rs.getLong("internship_id"),
+              rs.getString("company"),
+              rs.getString("position"),
+              null,
+              rs.getDate("deadline"),
+              rs.getString("url")));
+          last = new InternshipSearchPage.Cursor(rs.getFloat("rank"), rs.getInt("id"));
+        }
+      }
+    }
+
+    return new InternshipSearchPage(internships, hasMore ? last : null);
+  }
+
+  /**
+   * Turn search text into a tsquery that requires every word as a prefix,
+   * e.g. {@code soft eng} becomes {@code soft:* & eng:*}. Only letters and
+   * digits are kept, so the result is always valid tsquery syntax.
+   */
+  private static String toPrefixTsQuery(String query) {
+    StringBuilder tsQuery = new StringBuilder();
+    for (String word : query.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+      if (word.isEmpty()) {
+        continue;
+      }
+      if (tsQuery.length() > 0) {
+        tsQuery.append(" & ");
+      }
+      tsQuery.append(word).append(":*");
+    }
+    return tsQuery.toString();
+  }
+
+  /**
+   * Convert internship_id from the old "company-position" text keys to
+   * 64-bit ids. Numeric values are kept; any other legacy key is mapped to a
+   * stable id derived from its MD5 hash, so rows that shared a key still do.
+   */
+  private static void migrateInternshipIds(Connection conn) throws SQLException {
+    String typeQuery = "SELECT data_type FROM information_schema.columns " +
+        "WHERE table_name = 'shared_internships' AND column_name = 'internship_id'";
+    try (Statement stmt = conn.createStatement();
+        ResultSet rs = stmt.executeQuery(typeQuery)) {
+      if (!rs.next() || "bigint".equals(rs.getString(1))) {
+        return;
+      }
+    }
+
+    try (Statement stmt = conn.createStatement()) {
+      stmt.execute("ALTER TABLE shared_internships ALTER COLUMN internship_id TYPE BIGINT USING " +
+          "CASE WHEN internship_id ~ '^-?[0-9]{1,18}$' THEN internship_id::BIGINT " +
+          "ELSE ('x' || substr(md5(internship_id), 1, 16))::BIT(64)::BIGINT END");
+    }
+    LOGGER.info("Migrated shared_internships.internship_id to BIGINT");
   }
 
   /**
    * Close database resources properly
    */
   public static void closeConnection() {
-    if (connection != null) {
-      try {
-        connection.close();
-        LOGGER.info("Database connection closed");
-      } catch (SQLException e) {
-        LOGGER.log(Level.WARNING, "Error closing database connection", e);
+    synchronized (DatabaseUtils.class) {
+      if (pool != null) {
+        LOGGER.info("Closing database connection pool: " + pool.getStats());
+        pool.close();
+        pool = null;
+        LOGGER.info("Database connection pool closed");
       }
     }
   }
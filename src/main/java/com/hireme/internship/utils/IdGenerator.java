@@ -0,0 +1,62 @@
+package com.hireme.internship.utils;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates unique 64-bit ids without a database round trip.
+ *
+ * Ids are laid out Snowflake-style: 41 bits of milliseconds since
+ * 2024-01-01, 10 bits of node id and a 12-bit per-millisecond sequence, so
+ * they increase over time and do not collide between nodes. The node id is
+ * read from {@code hireme.nodeId}; a random node id is picked when it is not
+ * set.
+ */
+public final class IdGenerator {
+  // 2024-01-01T00:00:00Z
+  private static final long EPOCH = 1704067200000L;
+  private static final int NODE_BITS = 10;
+  private static final int SEQUENCE_BITS = 12;
+  private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+  private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+  private static final long NODE_ID = nodeId();
+
+  private static long lastTimestamp = -1;
+  private static long sequence;
+
+  private IdGenerator() {
+  }
+
+  /**
+   * @return A new id, greater than any id previously returned by this node
+   */
+  public static synchronized long nextId() {
+    // Never go backwards, even if the wall clock does
+    long timestamp = Math.max(System.currentTimeMillis(), lastTimestamp);
+    if (timestamp == lastTimestamp) {
+      sequence = (sequence + 1) & SEQUENCE_MASK;
+      if (sequence == 0) {
+        // Sequence exhausted for this millisecond; borrow the next one
+        timestamp++;
+      }
+    } else {
+      sequence = 0;
+    }
+    lastTimestamp = timestamp;
+
+    return ((timestamp - EPOCH) << (NODE_BITS + SEQUENCE_BITS))
+        | (NODE_ID << SEQUENCE_BITS)
+        | sequence;
+  }
+
+  private static long nodeId() {
+    Integer configured = Integer.getInteger("hireme.nodeId");
+    if (configured == null) {
+      return ThreadLocalRandom.current().nextLong(MAX_NODE_ID + 1);
+    }
+    if (configured < 0 || configured > MAX_NODE_ID) {
+      throw new IllegalArgumentException("hireme.nodeId must be between 0 and " + MAX_NODE_ID);
+    }
+    return configured;
+  }
+}
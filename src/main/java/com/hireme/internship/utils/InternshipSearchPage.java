@@ -0,0 +1,57 @@
+package com.hireme.internship.utils;
+
+import com.hireme.internship.model.Internship;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of shared internship search results, best match first, plus the
+ * keyset cursor needed to fetch the page after it
+ */
+public class InternshipSearchPage {
+  private final List<Internship> internships;
+  private final Cursor nextCursor;
+
+  InternshipSearchPage(List<Internship> internships, Cursor nextCursor) {
+    this.internships = Collections.unmodifiableList(internships);
+    this.nextCursor = nextCursor;
+  }
+
+  public List<Internship> getInternships() {
+    return internships;
+  }
+
+  /**
+   * @return Cursor for the following page, or null if this is the last page
+   */
+  public Cursor getNextCursor() {
+    return nextCursor;
+  }
+
+  public boolean hasMore() {
+    return nextCursor != null;
+  }
+
+  /**
+   * Position in the results: the (rank, id) of the last row returned. Only
+   * valid for the same search text.
+   */
+  public static final class Cursor {
+    private final float rank;
+    private final int id;
+
+    Cursor(float rank, int id) {
+      this.rank = rank;
+      this.id = id;
+    }
+
+    public float getRank() {
+      return rank;
+    }
+
+    public int getId() {
+      return id;
+    }
+  }
+}
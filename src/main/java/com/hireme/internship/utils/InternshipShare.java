@@ -0,0 +1,69 @@
+package com.hireme.internship.utils;
+
+import com.hireme.internship.model.Internship;
+
+import java.util.Date;
+
+/**
+ * One row to insert into shared_internships: an internship shared with a
+ * group by a user
+ */
+public class InternshipShare {
+  private final long internshipId;
+  private final String company;
+  private final String position;
+  private final String description;
+  private final Date deadline;
+  private final String url;
+  private final String groupName;
+  private final String sharedBy;
+
+  public InternshipShare(long internshipId, String company, String position, String description,
+      Date deadline, String url, String groupName, String sharedBy) {
+    this.internshipId = internshipId;
+    this.company = company;
+    this.position = position;
+    this.description = description;
+    this.deadline = deadline;
+    this.url = url;
+    this.groupName = groupName;
+    this.sharedBy = sharedBy;
+  }
+
+  public InternshipShare(Internship internship, String groupName, String sharedBy) {
+    this(internship.getId(), internship.getCompany(), internship.getPosition(), internship.getDescription(),
+        internship.getDeadline(), internship.getUrl(), groupName, sharedBy);
+  }
+
+  public long getInternshipId() {
+    return internshipId;
+  }
+
+  public String getCompany() {
+    return company;
+  }
+
+  public String getPosition() {
+    return position;
+  }
+
+  public String getDescription() {
+    return description;
+  }
+
+  public Date getDeadline() {
+    return deadline;
+  }
+
+  public String getUrl() {
+    return url;
+  }
+
+  public String getGroupName() {
+    return groupName;
+  }
+
+  public String getSharedBy() {
+    return sharedBy;
+  }
+}
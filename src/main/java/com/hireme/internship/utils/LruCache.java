@@ -0,0 +1,228 @@
+package com.hireme.internship.utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BinaryOperator;
+
+/**
+ * Thread-safe, size-bounded LRU cache with a time-to-live per entry and
+ * hit/miss counters.
+ *
+ * Expired entries are refreshed through the caller's loader on the next
+ * lookup; if the refresh fails, the stale value is served rather than
+ * failing the lookup. A cache whose values are shared by reference can pass
+ * a refresher that copies the reloaded state into the value already handed
+ * out, so callers holding it see the update instead of a detached copy.
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ */
+public class LruCache<K, V> {
+  private final int maxSize;
+  private final long ttlMillis;
+  private final BinaryOperator<V> refresher;
+  private final LinkedHashMap<K, Entry<V>> entries;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * @param maxSize   Maximum number of entries before the least recently used
+   *                  is evicted
+   * @param ttlMillis How long an entry is served before it is reloaded
+   */
+  public LruCache(int maxSize, long ttlMillis) {
+    this(maxSize, ttlMillis, (stale, loaded) -> loaded);
+  }
+
+  /**
+   * @param maxSize   Maximum number of entries before the least recently used
+   *                  is evicted
+   * @param ttlMillis How long an entry is served before it is reloaded
+   * @param refresher Given the expired value and the reloaded one, returns
+   *                  the value to cache from then on
+   */
+  public LruCache(int maxSize, long ttlMillis, BinaryOperator<V> refresher) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("maxSize must be positive");
+    }
+    this.maxSize = maxSize;
+    this.ttlMillis = ttlMillis;
+    this.refresher = refresher;
+    this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+        if (size() > LruCache.this.maxSize) {
+          evictions.increment();
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Look up a value, loading it on a miss or after its TTL has expired
+   *
+   * @param key    Key to look up
+   * @param loader Loads the value from the backing store; may return null if
+   *               the key does not exist
+   * @return Cached or loaded value, or null if the key does not exist
+   * @throws E if loading fails and there is no stale value to fall back to
+   */
+  public <E extends Exception> V get(K key, Loader<K, V, E> loader) throws E {
+    Entry<V> entry;
+    synchronized (this) {
+      entry = entries.get(key);
+    }
+    long now = System.currentTimeMillis();
+    if (entry != null && now - entry.loadedAt < ttlMillis) {
+      hits.increment();
+      return entry.value;
+    }
+
+    misses.increment();
+    V value;
+    try {
+      value = loader.load(key);
+    } catch (Exception e) {
+      if (entry != null) {
+        return entry.value;
+      }
+      throw e;
+    }
+    if (entry != null && value != null) {
+      value = refresher.apply(entry.value, value);
+    }
+
+    synchronized (this) {
+      if (value == null) {
+        entries.remove(key);
+      } else {
+        entries.put(key, new Entry<>(value, now));
+      }
+    }
+    return value;
+  }
+
+  /**
+   * Cached value if present and fresh, without loading
+   */
+  public V getIfPresent(K key) {
+    Entry<V> entry;
+    synchronized (this) {
+      entry = entries.get(key);
+    }
+    if (entry != null && System.currentTimeMillis() - entry.loadedAt < ttlMillis) {
+      hits.increment();
+      return entry.value;
+    }
+    misses.increment();
+    return null;
+  }
+
+  public synchronized void put(K key, V value) {
+    entries.put(key, new Entry<>(value, System.currentTimeMillis()));
+  }
+
+  public synchronized void invalidate(K key) {
+    entries.remove(key);
+  }
+
+  public synchronized void clear() {
+    entries.clear();
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Snapshot of the cached values, most recently used last
+   */
+  public synchronized List<V> values() {
+    List<V> values = new ArrayList<>(entries.size());
+    for (Entry<V> entry : entries.values()) {
+      values.add(entry.value);
+    }
+    return values;
+  }
+
+  public Stats getStats() {
+    return new Stats(hits.sum(), misses.sum(), evictions.sum(), size(), maxSize);
+  }
+
+  /**
+   * Loads a value from the backing store
+   *
+   * @param <E> Exception the backing store may throw
+   */
+  @FunctionalInterface
+  public interface Loader<K, V, E extends Exception> {
+    V load(K key) throws E;
+  }
+
+  private static final class Entry<V> {
+    final V value;
+    final long loadedAt;
+
+    Entry(V value, long loadedAt) {
+      this.value = value;
+      this.loadedAt = loadedAt;
+    }
+  }
+
+  /**
+   * Point-in-time cache counters
+   */
+  public static final class Stats {
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final int size;
+    private final int maxSize;
+
+    Stats(long hits, long misses, long evictions, int size, int maxSize) {
+      this.hits = hits;
+      this.misses = misses;
+      this.evictions = evictions;
+      this.size = size;
+      this.maxSize = maxSize;
+    }
+
+    public long getHits() {
+      return hits;
+    }
+
+    public long getMisses() {
+      return misses;
+    }
+
+    public long getEvictions() {
+      return evictions;
+    }
+
+    public int getSize() {
+      return size;
+    }
+
+    public int getMaxSize() {
+      return maxSize;
+    }
+
+    public double getHitRate() {
+      long lookups = hits + misses;
+      return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+      return String.format("size=%d/%d, hits=%d, misses=%d, evictions=%d, hitRate=%.2f",
+          size, maxSize, hits, misses, evictions, getHitRate());
+    }
+  }
+}
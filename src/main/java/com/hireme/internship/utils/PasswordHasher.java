@@ -0,0 +1,110 @@
+package com.hireme.internship.utils;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Salted PBKDF2 password hashes.
+ *
+ * Hashes are stored as {@code pbkdf2-sha256$<iterations>$<salt>$<hash>} with
+ * a random 16-byte salt per password, so the cost each one was made with
+ * travels with it. New hashes use {@code hireme.auth.iterations}; raising it
+ * upgrades existing users the next time they log in (see
+ * {@link #needsRehash(String)}). Values without the prefix are passwords
+ * stored in plain text by older versions; they still verify, and always need
+ * a rehash.
+ */
+public final class PasswordHasher {
+  private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+  private static final String PREFIX = "pbkdf2-sha256";
+  private static final int SALT_BYTES = 16;
+  private static final int HASH_BITS = 256;
+
+  /**
+   * Iterations used for new hashes
+   */
+  public static final int ITERATIONS = Integer.getInteger("hireme.auth.iterations", 310_000);
+
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  private PasswordHasher() {
+  }
+
+  /**
+   * Hash a password with a fresh salt at the configured cost
+   */
+  public static String hash(String password) {
+    return hash(password, ITERATIONS);
+  }
+
+  /**
+   * Hash a password with a fresh salt at the given cost
+   */
+  static String hash(String password, int iterations) {
+    byte[] salt = new byte[SALT_BYTES];
+    RANDOM.nextBytes(salt);
+    byte[] hash = pbkdf2(password, salt, iterations);
+    Base64.Encoder base64 = Base64.getEncoder().withoutPadding();
+    return PREFIX + "$" + iterations + "$" + base64.encodeToString(salt) + "$" + base64.encodeToString(hash);
+  }
+
+  /**
+   * Check a password against a stored value, in time independent of where
+   * they differ
+   */
+  public static boolean verify(String password, String stored) {
+    if (stored == null) {
+      return false;
+    }
+    if (!stored.startsWith(PREFIX + "$")) {
+      return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8),
+          stored.getBytes(StandardCharsets.UTF_8));
+    }
+
+    String[] parts = stored.split("\\$");
+    if (parts.length != 4) {
+      return false;
+    }
+    try {
+      int iterations = Integer.parseInt(parts[1]);
+      Base64.Decoder base64 = Base64.getDecoder();
+      byte[] salt = base64.decode(parts[2]);
+      byte[] expected = base64.decode(parts[3]);
+      return MessageDigest.isEqual(expected, pbkdf2(password, salt, iterations));
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Whether a stored value is weaker than what {@link #hash(String)} produces
+   * now and should be replaced after the next successful login
+   */
+  public static boolean needsRehash(String stored) {
+    if (stored == null || !stored.startsWith(PREFIX + "$")) {
+      return true;
+    }
+    String[] parts = stored.split("\\$");
+    try {
+      return parts.length != 4 || Integer.parseInt(parts[1]) < ITERATIONS;
+    } catch (NumberFormatException e) {
+      return true;
+    }
+  }
+
+  private static byte[] pbkdf2(String password, byte[] salt, int iterations) {
+    PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+    try {
+      return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException(ALGORITHM + " is not available", e);
+    } finally {
+      spec.clearPassword();
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package com.hireme.internship.utils;
+
+import com.hireme.internship.model.Internship;
+import com.hireme.internship.model.User;
+
+/**
+ * An internship whose deadline is close enough that one of the user's
+ * reminder windows may have been reached
+ */
+public class ReminderCandidate {
+  private final User user;
+  private final Internship internship;
+
+  public ReminderCandidate(User user, Internship internship) {
+    this.user = user;
+    this.internship = internship;
+  }
+
+  /**
+   * @return The recipient, with their reminder schedule set
+   */
+  public User getUser() {
+    return user;
+  }
+
+  public Internship getInternship() {
+    return internship;
+  }
+}
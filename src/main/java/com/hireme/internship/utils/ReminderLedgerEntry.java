@@ -0,0 +1,56 @@
+package com.hireme.internship.utils;
+
+import java.util.Objects;
+
+/**
+ * One row of reminder_ledger: the reminder for an internship sent to a user
+ * for a given reminder window
+ */
+public class ReminderLedgerEntry {
+  private final String userEmail;
+  private final long internshipId;
+  private final int window;
+
+  /**
+   * @param userEmail    Recipient
+   * @param internshipId Internship the reminder is about
+   * @param window       Reminder window, in minutes before the deadline
+   */
+  public ReminderLedgerEntry(String userEmail, long internshipId, int window) {
+    this.userEmail = userEmail;
+    this.internshipId = internshipId;
+    this.window = window;
+  }
+
+  public String getUserEmail() {
+    return userEmail;
+  }
+
+  public long getInternshipId() {
+    return internshipId;
+  }
+
+  public int getWindow() {
+    return window;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o)
+      return true;
+    if (o == null || getClass() != o.getClass())
+      return false;
+    ReminderLedgerEntry that = (ReminderLedgerEntry) o;
+    return internshipId == that.internshipId && window == that.window && userEmail.equals(that.userEmail);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(userEmail, internshipId, window);
+  }
+
+  @Override
+  public String toString() {
+    return userEmail + "/" + internshipId + "/" + window;
+  }
+}
@@ -0,0 +1,14 @@
+package com.hireme.internship.utils;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Maps the current row of a {@link ResultSet} to an object
+ *
+ * @param <T> Type produced for each row
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+  T map(ResultSet rs) throws SQLException;
+}
@@ -0,0 +1,57 @@
+package com.hireme.internship.utils;
+
+import com.hireme.internship.model.Internship;
+
+import java.sql.Timestamp;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of the shared internships feed, newest first, plus the keyset
+ * cursor needed to fetch the page after it
+ */
+public class SharedInternshipPage {
+  private final List<Internship> internships;
+  private final Cursor nextCursor;
+
+  SharedInternshipPage(List<Internship> internships, Cursor nextCursor) {
+    this.internships = Collections.unmodifiableList(internships);
+    this.nextCursor = nextCursor;
+  }
+
+  public List<Internship> getInternships() {
+    return internships;
+  }
+
+  /**
+   * @return Cursor for the following page, or null if this is the last page
+   */
+  public Cursor getNextCursor() {
+    return nextCursor;
+  }
+
+  public boolean hasMore() {
+    return nextCursor != null;
+  }
+
+  /**
+   * Position in the feed: the (shared_date, id) of the last row returned
+   */
+  public static final class Cursor {
+    private final Timestamp sharedDate;
+    private final int id;
+
+    Cursor(Timestamp sharedDate, int id) {
+      this.sharedDate = sharedDate;
+      this.id = id;
+    }
+
+    public Timestamp getSharedDate() {
+      return sharedDate;
+    }
+
+    public int getId() {
+      return id;
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package com.hireme.internship.utils;
+
+import java.sql.SQLException;
+
+/**
+ * Wraps a {@link SQLException} raised while consuming a row stream, where
+ * checked exceptions cannot be thrown
+ */
+public class UncheckedSQLException extends RuntimeException {
+  private static final long serialVersionUID = 1L;
+
+  public UncheckedSQLException(SQLException cause) {
+    super(cause.getMessage(), cause);
+  }
+
+  @Override
+  public synchronized SQLException getCause() {
+    return (SQLException) super.getCause();
+  }
+}
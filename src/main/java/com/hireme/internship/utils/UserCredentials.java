@@ -0,0 +1,24 @@
+package com.hireme.internship.utils;
+
+import com.hireme.internship.model.User;
+
+/**
+ * A user record together with its stored password hash, as read at login
+ */
+public class UserCredentials {
+  private final User user;
+  private final String passwordHash;
+
+  public UserCredentials(User user, String passwordHash) {
+    this.user = user;
+    this.passwordHash = passwordHash;
+  }
+
+  public User getUser() {
+    return user;
+  }
+
+  public String getPasswordHash() {
+    return passwordHash;
+  }
+}
@@ -0,0 +1,120 @@
+package com.hireme.internship.service;
+
+import com.hireme.internship.model.Internship;
+import com.hireme.internship.model.ReminderSchedule;
+import com.hireme.internship.model.User;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one reminder pass over {@code pairs} (user, internship) pairs:
+ * the original full scan, which built a HashSet and compared Dates on every
+ * pass, against polling the {@link DeadlineIndex} for one tick. Run with
+ * {@code -prof gc} and compare {@code gc.alloc.rate.norm}, the bytes
+ * allocated per pass.
+ *
+ * The index pass keeps a steady state: when a pair's last window fires its
+ * deadline is moved one horizon later, in place, so the simulated clock can
+ * run for any number of passes without the index draining.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class DeadlineIndexBenchmark {
+  private static final long TICK_MILLIS = TimeUnit.MINUTES.toMillis(1);
+  private static final long HORIZON_MILLIS = TimeUnit.DAYS.toMillis(30);
+  private static final int INTERNSHIPS_PER_USER = 100;
+
+  @Param({ "100000", "1000000" })
+  public int pairs;
+
+  private List<User> users;
+  private DeadlineIndex index;
+  private final DeadlineIndex.DueBatch due = new DeadlineIndex.DueBatch();
+  private long lastOffset;
+  private long clock;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    long start = System.currentTimeMillis();
+    Random random = new Random(42);
+    users = new ArrayList<>();
+    index = new DeadlineIndex(TICK_MILLIS, start);
+    for (int i = 0; i < pairs; i++) {
+      if (i % INTERNSHIPS_PER_USER == 0) {
+        users.add(new User("User " + users.size(), "user" + users.size() + "@example.com"));
+      }
+      User user = users.get(users.size() - 1);
+      Date deadline = new Date(start + TimeUnit.DAYS.toMillis(1) + (long) (random.nextDouble() * HORIZON_MILLIS));
+      Internship internship = new Internship("Company " + i, "Position", "Description", deadline, "url");
+      user.addInternship(internship);
+      index.add(user, internship, start);
+    }
+    ReminderSchedule schedule = ReminderSchedule.DEFAULT;
+    lastOffset = schedule.getOffset(schedule.size() - 1);
+    clock = start;
+  }
+
+  /**
+   * The pass as it was before the index: every pair is visited, a fresh
+   * HashSet dedups them and each deadline is compared through Date
+   */
+  @Benchmark
+  public void fullScan(Blackhole blackhole) {
+    Date now = new Date();
+    Date target = new Date(now.getTime() + TimeUnit.DAYS.toMillis(3));
+    Set<Internship> processed = new HashSet<>();
+    for (User user : users) {
+      for (Internship internship : user.getSavedInternships()) {
+        Date deadline = internship.getDeadline();
+        if (!processed.contains(internship) && deadline.after(now) && deadline.before(target)) {
+          blackhole.consume(internship);
+          processed.add(internship);
+        }
+      }
+    }
+  }
+
+  /**
+   * One tick of the index: only the reminders due in it are touched
+   */
+  @Benchmark
+  public int indexTick(Blackhole blackhole) {
+    clock += TICK_MILLIS;
+    int count = index.pollDue(clock, due);
+    for (int i = 0; i < count; i++) {
+      blackhole.consume(due.getInternship(i));
+      if (due.getOffset(i) == lastOffset) {
+        Internship internship = due.getInternship(i);
+        Date deadline = internship.getDeadline();
+        deadline.setTime(deadline.getTime() + HORIZON_MILLIS);
+        index.update(due.getUser(i), internship, clock);
+      }
+    }
+    due.clear();
+    return count;
+  }
+}
@@ -0,0 +1,235 @@
+package com.hireme.internship.service;
+
+import com.hireme.internship.model.Internship;
+import com.hireme.internship.model.User;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.mail.MessagingException;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Batched sends against an in-process SMTP stand-in
+ */
+class EmailServiceTest {
+  private static final long TIMEOUT_MILLIS = 500;
+
+  private FakeSmtpServer server;
+  private EmailService emailService;
+
+  @AfterEach
+  void tearDown() throws IOException {
+    if (emailService != null) {
+      emailService.close();
+    }
+    if (server != null) {
+      server.close();
+    }
+  }
+
+  @Test
+  void batchReusesOneConnection() throws IOException {
+    server = new FakeSmtpServer(Integer.MAX_VALUE);
+    emailService = newEmailService(1);
+
+    Map<Reminder, MessagingException> failed = emailService.sendReminderEmails(reminders(5));
+
+    assertTrue(failed.isEmpty(), "Unexpected failures: " + failed);
+    assertEquals(5, server.messages.get());
+    assertEquals(1, server.connections.get());
+
+    // The next batch picks the pooled connection up again
+    assertTrue(emailService.sendReminderEmails(reminders(3)).isEmpty());
+    assertEquals(8, server.messages.get());
+    assertEquals(1, server.connections.get());
+  }
+
+  @Test
+  void reconnectsAfterServerDropsConnection() throws IOException {
+    // Every connection is dropped after its second message
+    server = new FakeSmtpServer(2);
+    emailService = newEmailService(1);
+
+    Map<Reminder, MessagingException> failed = emailService.sendReminderEmails(reminders(5));
+
+    assertTrue(failed.isEmpty(), "Unexpected failures: " + failed);
+    assertEquals(5, server.messages.get());
+    assertEquals(3, server.connections.get());
+  }
+
+  @Test
+  void hungServerTimesOutOnceForTheWholeBatch() throws IOException {
+    // Accepts connections but never sends its greeting
+    server = new FakeSmtpServer(Integer.MAX_VALUE);
+    server.hangFrom = 1;
+    emailService = newEmailService(1);
+
+    long start = System.nanoTime();
+    Map<Reminder, MessagingException> failed = emailService.sendReminderEmails(reminders(5));
+    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    assertEquals(5, failed.size());
+    assertEquals(0, server.messages.get());
+    assertTrue(elapsed < 3 * TIMEOUT_MILLIS, "Batch took " + elapsed + " ms");
+  }
+
+  @Test
+  void failedReconnectFailsRestOfBatchAtOnce() throws IOException {
+    // The first connection is dropped after one message; the server then
+    // hangs on every new connection
+    server = new FakeSmtpServer(1);
+    server.hangFrom = 2;
+    emailService = newEmailService(1);
+
+    List<Reminder> batch = reminders(5);
+    long start = System.nanoTime();
+    Map<Reminder, MessagingException> failed = emailService.sendReminderEmails(batch);
+    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+    assertEquals(1, server.messages.get());
+    assertEquals(4, failed.size());
+    assertFalse(failed.containsKey(batch.get(0)));
+    assertEquals(2, server.connections.get());
+    assertTrue(elapsed < 3 * TIMEOUT_MILLIS, "Batch took " + elapsed + " ms");
+  }
+
+  private EmailService newEmailService(int poolSize) {
+    Properties properties = new Properties();
+    properties.put("mail.smtp.host", "127.0.0.1");
+    properties.put("mail.smtp.port", String.valueOf(server.getPort()));
+    properties.put("mail.from", "reminders@example.com");
+    properties.put("mail.smtp.connectiontimeout", String.valueOf(TIMEOUT_MILLIS));
+    properties.put("mail.smtp.timeout", String.valueOf(TIMEOUT_MILLIS));
+    return new EmailService(properties, null, null, poolSize);
+  }
+
+  private static List<Reminder> reminders(int count) {
+    Date deadline = new Date(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(2));
+    List<Reminder> reminders = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      User user = new User("User " + i, "user" + i + "@example.com");
+      reminders.add(new Reminder(user, new Internship("Company " + i, "Position", "Description", deadline, "url"), 2));
+    }
+    return reminders;
+  }
+
+  /**
+   * Just enough SMTP to accept messages. Can drop each connection after a
+   * number of messages, or hang without a greeting from a given connection
+   * on.
+   */
+  private static final class FakeSmtpServer implements AutoCloseable {
+    final AtomicInteger connections = new AtomicInteger();
+    final AtomicInteger messages = new AtomicInteger();
+    // 1-based connection number from which the server never greets; 0 never
+    volatile int hangFrom;
+
+    private final ServerSocket serverSocket;
+    private final int messagesPerConnection;
+    private final List<Socket> sockets = new ArrayList<>();
+
+    FakeSmtpServer(int messagesPerConnection) throws IOException {
+      this.messagesPerConnection = messagesPerConnection;
+      this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+      Thread acceptor = new Thread(this::acceptLoop, "fake-smtp-accept");
+      acceptor.setDaemon(true);
+      acceptor.start();
+    }
+
+    int getPort() {
+      return serverSocket.getLocalPort();
+    }
+
+    private void acceptLoop() {
+      while (!serverSocket.isClosed()) {
+        Socket socket;
+        try {
+          socket = serverSocket.accept();
+        } catch (IOException e) {
+          return;
+        }
+        int connection = connections.incrementAndGet();
+        synchronized (sockets) {
+          sockets.add(socket);
+        }
+        if (hangFrom > 0 && connection >= hangFrom) {
+          continue;
+        }
+        Thread handler = new Thread(() -> serve(socket), "fake-smtp-" + connection);
+        handler.setDaemon(true);
+        handler.start();
+      }
+    }
+
+    private void serve(Socket socket) {
+      try (Socket s = socket;
+          BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.US_ASCII))) {
+        OutputStream out = s.getOutputStream();
+        reply(out, "220 localhost fake SMTP");
+        int accepted = 0;
+        String line;
+        while ((line = in.readLine()) != null) {
+          String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+          switch (command) {
+            case "EHLO":
+              reply(out, "250-localhost\r\n250 8BITMIME");
+              break;
+            case "DATA":
+              reply(out, "354 End data with <CR><LF>.<CR><LF>");
+              while ((line = in.readLine()) != null && !line.equals(".")) {
+                // Discard the message body
+              }
+              messages.incrementAndGet();
+              reply(out, "250 OK");
+              if (++accepted >= messagesPerConnection) {
+                return;
+              }
+              break;
+            case "QUIT":
+              reply(out, "221 Bye");
+              return;
+            default:
+              // HELO, MAIL, RCPT, RSET, NOOP
+              reply(out, "250 OK");
+          }
+        }
+      } catch (IOException e) {
+        // Client went away
+      }
+    }
+
+    private static void reply(OutputStream out, String reply) throws IOException {
+      out.write((reply + "\r\n").getBytes(StandardCharsets.US_ASCII));
+      out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      serverSocket.close();
+      synchronized (sockets) {
+        for (Socket socket : sockets) {
+          socket.close();
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,178 @@
+package com.hireme.internship.service;
+
+import com.hireme.internship.model.Internship;
+import com.hireme.internship.model.User;
+import com.hireme.internship.utils.DatabaseUtils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.mail.MessagingException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Several reminder workers in one JVM against the test database (see
+ * {@code hireme.test.db.url} in the pom). Workers join and leave while
+ * reminders are still queued, so shards change hands mid-delivery; every
+ * reminder must still be sent exactly once.
+ */
+class ReminderWorkerTest {
+  private static final int USERS = 30;
+  private static final int INTERNSHIPS_PER_USER = 4;
+  private static final int REMINDERS = USERS * INTERNSHIPS_PER_USER;
+
+  private final RecordingEmailService emailService = new RecordingEmailService();
+  private final List<ReminderWorker> workers = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() throws SQLException {
+    assumeTrue(databaseAvailable(), "Test database not reachable");
+    DatabaseUtils.initializeDatabase();
+    try (Connection conn = DatabaseUtils.getConnection();
+        Statement stmt = conn.createStatement()) {
+      stmt.execute("TRUNCATE reminder_ledger, reminder_shards, reminder_workers, saved_internships, " +
+          "shared_internships, group_members, groups, users");
+    }
+
+    // Due tomorrow at midnight or later: inside the default 3-day window
+    Date deadline = Date.from(LocalDate.now().plusDays(2).atStartOfDay(ZoneId.systemDefault()).toInstant());
+    for (int u = 0; u < USERS; u++) {
+      User user = new User("User " + u, "worker-test-" + u + "@example.com");
+      DatabaseUtils.saveUser(user, "unused");
+      List<Internship> internships = new ArrayList<>();
+      for (int i = 0; i < INTERNSHIPS_PER_USER; i++) {
+        internships.add(new Internship("Company " + i, "Position", "Description", deadline, "url"));
+      }
+      DatabaseUtils.upsertSavedInternships(user.getEmail(), internships);
+    }
+  }
+
+  @AfterEach
+  void tearDown() {
+    for (ReminderWorker worker : workers) {
+      worker.stop();
+    }
+  }
+
+  @Test
+  void workersSendEveryReminderExactlyOnceWhileShardsMove() throws Exception {
+    ReminderWorker first = startWorker("worker-a");
+    // Let the first worker take every shard and queue their reminders
+    waitUntil(() -> emailService.sendCount() > 0, 10_000);
+
+    // Joining workers make the first one hand over shards whose reminders
+    // it still has queued
+    startWorker("worker-b");
+    startWorker("worker-c");
+    waitUntil(() -> first.getOwnedShards().size() < 8, 10_000);
+
+    // A leaving worker drops what it has not sent; the others take it over
+    first.stop();
+    workers.remove(first);
+
+    waitUntil(() -> emailService.distinctCount() == REMINDERS, 30_000);
+    // Give a duplicate, if any, time to show up
+    Thread.sleep(2000);
+
+    assertEquals(REMINDERS, emailService.distinctCount());
+    for (Map.Entry<String, AtomicInteger> sends : emailService.sends.entrySet()) {
+      assertEquals(1, sends.getValue().get(), "Reminder sent more than once: " + sends.getKey());
+    }
+    assertEquals(REMINDERS, countSentLedgerRows());
+  }
+
+  private ReminderWorker startWorker(String workerId) throws SQLException {
+    ReminderWorker worker = new ReminderWorker(workerId, emailService);
+    workers.add(worker);
+    worker.start();
+    return worker;
+  }
+
+  private static boolean databaseAvailable() {
+    try (Connection conn = DatabaseUtils.getConnection()) {
+      return conn.isValid(2);
+    } catch (SQLException e) {
+      return false;
+    }
+  }
+
+  private static int countSentLedgerRows() throws SQLException {
+    try (Connection conn = DatabaseUtils.getConnection();
+        Statement stmt = conn.createStatement();
+        ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM reminder_ledger WHERE sent_at IS NOT NULL")) {
+      rs.next();
+      return rs.getInt(1);
+    }
+  }
+
+  private static void waitUntil(Condition condition, long timeoutMillis) throws Exception {
+    long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    while (!condition.holds()) {
+      assertTrue(System.nanoTime() < deadline, "Timed out waiting for workers");
+      Thread.sleep(50);
+    }
+  }
+
+  private interface Condition {
+    boolean holds() throws Exception;
+  }
+
+  /**
+   * Counts sends per reminder instead of talking to an SMTP server, slowly
+   * enough that reminders are still queued when shards move
+   */
+  private static class RecordingEmailService extends EmailService {
+    final Map<String, AtomicInteger> sends = new ConcurrentHashMap<>();
+
+    RecordingEmailService() {
+      super(new Properties(), null, null, 1);
+    }
+
+    @Override
+    public Map<Reminder, MessagingException> sendReminderEmails(Collection<Reminder> reminders) {
+      for (Reminder reminder : reminders) {
+        try {
+          Thread.sleep(50);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        String key = reminder.getUser().getEmail() + "/" + reminder.getInternship().getId() + "/"
+            + reminder.getWindow();
+        sends.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+      }
+      return new IdentityHashMap<>();
+    }
+
+    int sendCount() {
+      int count = 0;
+      for (AtomicInteger sent : sends.values()) {
+        count += sent.get();
+      }
+      return count;
+    }
+
+    int distinctCount() {
+      return sends.size();
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package com.hireme.internship.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logins per second one hashing thread can verify at each cost setting
+ * ({@code hireme.auth.iterations}). The score is ops/s per thread; multiply
+ * by {@code hireme.auth.threads} for the capacity of the password executor,
+ * or run with {@code -t <threads>} to measure the cores together.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class PasswordHasherBenchmark {
+  private static final String PASSWORD = "correct horse battery staple";
+
+  @Param({ "10000", "100000", "310000", "600000" })
+  public int iterations;
+
+  private String stored;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    stored = PasswordHasher.hash(PASSWORD, iterations);
+  }
+
+  /**
+   * A successful login: one verify against a hash made at this cost
+   */
+  @Benchmark
+  public boolean login() {
+    return PasswordHasher.verify(PASSWORD, stored);
+  }
+}